@@ -53,14 +53,17 @@ public class ToDoListApp {
     Runtime.getRuntime().addShutdownHook(new Thread(() -> {
       System.out.println("Application shutting down, saving data...");
 
-      if (mainWindow != null && mainWindow.getTaskController() != null) {
-        boolean saved = mainWindow.getTaskController().saveTasksFromUI();
+      // Lưu qua TaskManager, không đọc Swing model ngoài EDT
+      if (mainWindow != null && mainWindow.getTaskManager() != null) {
+        boolean saved = mainWindow.getTaskManager().saveTasksToFile();
 
         if (saved) {
           System.out.println("Data saved successfully on shutdown.");
         } else {
           System.err.println("Failed to save data on shutdown.");
         }
+
+        mainWindow.getTaskManager().close();
       }
     }));
   }
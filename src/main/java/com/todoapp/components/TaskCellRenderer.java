@@ -0,0 +1,189 @@
+package com.todoapp.components;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Font;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.swing.Icon;
+import javax.swing.JTable;
+import javax.swing.SwingConstants;
+import javax.swing.UIManager;
+import javax.swing.border.Border;
+import javax.swing.plaf.basic.BasicHTML;
+import javax.swing.table.DefaultTableCellRenderer;
+
+import com.todoapp.models.Priority;
+import com.todoapp.models.Status;
+
+/**
+ * Cell renderer cho bảng task với màu theo Priority/Status, hover và icon pin
+ * Màu, font, border và text của task đã pin đều được dựng sẵn nên không cấp phát object nào khi vẽ từng cell
+ */
+public class TaskCellRenderer extends DefaultTableCellRenderer {
+
+    // ==================== PALETTE ====================
+    private static final Color SELECTED_BACKGROUND = new Color(173, 216, 230); // Light blue
+    private static final Color HOVER_BACKGROUND = new Color(240, 248, 255); // Lightest blue
+    private static final Color EVEN_ROW_BACKGROUND = new Color(250, 250, 250);
+
+    private static final Color PRIORITY_HIGH = new Color(255, 200, 200); // Light red
+    private static final Color PRIORITY_MEDIUM = new Color(255, 235, 200); // Light orange
+    private static final Color PRIORITY_LOW = new Color(220, 255, 220); // Light green
+
+    private static final Color STATUS_COMPLETED = new Color(200, 230, 255); // Sky blue
+    private static final Color STATUS_IN_PROGRESS = new Color(230, 220, 255); // Light purple
+    private static final Color STATUS_PENDING = new Color(240, 240, 240); // Light gray
+
+    private static final String PIN_PREFIX = "📌 ";
+    private static final int PIN_TEXT_CACHE_SIZE = 256;
+
+    private final boolean pinColumn;
+    private final boolean stripedRows;
+    private final Font font;
+    private final Border padding;
+    private final Icon pinIcon = UIManager.getIcon("FileView.floppyDriveIcon");
+
+    // Tên task -> text có icon pin, LRU nên chỉ cấp phát khi gặp tên mới
+    private final Map<String, String> pinnedTexts = new LinkedHashMap<String, String>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > PIN_TEXT_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * @param pinColumn   hiển thị icon pin cho task đã pin (cột Task)
+     * @param stripedRows tô màu xen kẽ các dòng
+     * @param font        font của cell, null để dùng font của bảng
+     * @param padding     border của cell, null để dùng border mặc định
+     */
+    public TaskCellRenderer(boolean pinColumn, boolean stripedRows, Font font, Border padding) {
+        this.pinColumn = pinColumn;
+        this.stripedRows = stripedRows;
+        this.font = font;
+        this.padding = padding;
+    }
+
+    @Override
+    public Component getTableCellRendererComponent(JTable table, Object value,
+            boolean isSelected, boolean hasFocus, int row, int column) {
+
+        super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+
+        int hoveredRow = table instanceof TaskTable ? ((TaskTable) table).getHoveredRow() : -1;
+        int modelColumn = table.convertColumnIndexToModel(column);
+
+        applyRowStateColors(table, isSelected, row == hoveredRow, row);
+        if (!isSelected && row != hoveredRow) {
+            applyColumnColors(value, modelColumn);
+        }
+
+        setHorizontalAlignment(modelColumn == TaskTableModel.PRIORITY_COLUMN
+                || modelColumn == TaskTableModel.STATUS_COLUMN ? SwingConstants.CENTER : SwingConstants.LEFT);
+        if (font != null) {
+            setFont(font);
+        }
+        if (padding != null) {
+            setBorder(padding);
+        }
+
+        if (pinColumn) {
+            applyPinIcon(table, value, row);
+        }
+        return this;
+    }
+
+    /**
+     * Apply colors based on row state (selected/hover/normal)
+     */
+    private void applyRowStateColors(JTable table, boolean isSelected, boolean isHovered, int row) {
+        if (isSelected) {
+            setBackground(SELECTED_BACKGROUND);
+            setForeground(Color.BLACK);
+        } else if (isHovered) {
+            setBackground(HOVER_BACKGROUND);
+            setForeground(Color.BLACK);
+        } else {
+            setBackground(stripedRows ? (row % 2 == 0 ? EVEN_ROW_BACKGROUND : Color.WHITE) : table.getBackground());
+            setForeground(stripedRows ? Color.BLACK : table.getForeground());
+        }
+    }
+
+    /**
+     * Apply special colors for Priority and Status columns
+     */
+    private void applyColumnColors(Object value, int modelColumn) {
+        if (modelColumn == TaskTableModel.PRIORITY_COLUMN && value instanceof Priority) {
+            switch ((Priority) value) {
+                case HIGH:
+                    setBackground(PRIORITY_HIGH);
+                    break;
+                case MEDIUM:
+                    setBackground(PRIORITY_MEDIUM);
+                    break;
+                case LOW:
+                    setBackground(PRIORITY_LOW);
+                    break;
+            }
+        } else if (modelColumn == TaskTableModel.STATUS_COLUMN && value instanceof Status) {
+            switch ((Status) value) {
+                case COMPLETED:
+                    setBackground(STATUS_COMPLETED);
+                    break;
+                case IN_PROGRESS:
+                    setBackground(STATUS_IN_PROGRESS);
+                    break;
+                case PENDING:
+                    setBackground(STATUS_PENDING);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Show pin icon for pinned tasks
+     */
+    private void applyPinIcon(JTable table, Object value, int row) {
+        if (table instanceof TaskTable && ((TaskTable) table).isTaskPinned(table.convertRowIndexToModel(row))) {
+            setIcon(pinIcon);
+            setText(getPinnedText(value != null ? value.toString() : ""));
+            setIconTextGap(5);
+        } else {
+            setIcon(null);
+        }
+    }
+
+    /**
+     * Chỉ báo "text" khi có HTML (BasicLabelUI cần dựng lại View), các thay đổi khác như
+     * DefaultTableCellRenderer đã bỏ qua; mỗi lần báo tạo một PropertyChangeEvent cho mỗi cell
+     */
+    @Override
+    protected void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
+        if ("text".equals(propertyName) && !isHtml(oldValue) && !isHtml(newValue)) {
+            return;
+        }
+        super.firePropertyChange(propertyName, oldValue, newValue);
+    }
+
+    /**
+     * Bỏ qua như bản boolean của DefaultTableCellRenderer (horizontalAlignment, iconTextGap đổi theo cột)
+     */
+    @Override
+    public void firePropertyChange(String propertyName, int oldValue, int newValue) {
+    }
+
+    private static boolean isHtml(Object text) {
+        return text instanceof String && BasicHTML.isHTMLString((String) text);
+    }
+
+    private String getPinnedText(String name) {
+        String text = pinnedTexts.get(name);
+        if (text == null) {
+            text = PIN_PREFIX + name;
+            pinnedTexts.put(name, text);
+        }
+        return text;
+    }
+}
@@ -1,7 +1,6 @@
 package com.todoapp.components;
 
 import java.awt.Color;
-import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.event.KeyAdapter;
@@ -9,22 +8,20 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionAdapter;
-import java.util.LinkedHashSet;
 
 import javax.swing.BorderFactory;
-import javax.swing.JLabel;
 import javax.swing.JTable;
 import javax.swing.ListSelectionModel;
-import javax.swing.RowFilter;
-import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
-import javax.swing.UIManager;
-import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.border.Border;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import javax.swing.table.TableColumnModel;
 import javax.swing.table.TableModel;
-import javax.swing.table.TableRowSorter;
+
+import com.todoapp.models.Task;
+import com.todoapp.utils.OrderedLongSet;
+import com.todoapp.utils.PinnedRowSorter;
 
 /**
  * Custom JTable for task management with enhanced features
@@ -32,10 +29,14 @@ import javax.swing.table.TableRowSorter;
  */
 public class TaskTable extends JTable {
 
+    public static final int ID_COLUMN = 4; // Cột ẩn chứa id của task
+
+    private static final Font CELL_FONT = new Font("SansSerif", Font.PLAIN, 12);
+    private static final Border CELL_PADDING = BorderFactory.createEmptyBorder(0, 5, 0, 5);
+
     // ==================== COMPONENTS ====================
-    private DefaultTableModel tableModel;
     private int hoveredRow = -1;
-    private LinkedHashSet<Integer> pinnedTaskRows;
+    private OrderedLongSet pinnedTaskIds;
 
     // ==================== INITIALIZATION ====================
 
@@ -50,7 +51,7 @@ public class TaskTable extends JTable {
      * Initialize read-only table model với custom behavior
      */
     private void initializeTableModel() {
-        tableModel = new DefaultTableModel() {
+        DefaultTableModel tableModel = new DefaultTableModel() {
             @Override
             public boolean isCellEditable(int row, int column) {
                 return false; // Read-only table
@@ -72,7 +73,7 @@ public class TaskTable extends JTable {
     }
 
     private void initializePinnedTasks() {
-        pinnedTaskRows = new LinkedHashSet<>();
+        pinnedTaskIds = new OrderedLongSet();
     }
 
     // ==================== TABLE CONFIGURATION ====================
@@ -120,7 +121,7 @@ public class TaskTable extends JTable {
      * Setup custom cell renderers với color coding
      */
     private void setupCellRenderers() {
-        DefaultTableCellRenderer defaultRenderer = createDefaultRenderer();
+        TaskCellRenderer defaultRenderer = new TaskCellRenderer(false, true, CELL_FONT, CELL_PADDING);
 
         // Apply default renderer to all columns
         for (int i = 0; i < getColumnCount(); i++) {
@@ -128,126 +129,7 @@ public class TaskTable extends JTable {
         }
 
         // Special renderer for Task column (with pin icons)
-        setupTaskColumnRenderer(defaultRenderer);
-    }
-
-    /**
-     * Create default cell renderer với hover và selection effects
-     */
-    private DefaultTableCellRenderer createDefaultRenderer() {
-        return new DefaultTableCellRenderer() {
-            @Override
-            public Component getTableCellRendererComponent(JTable table, Object value,
-                    boolean isSelected, boolean hasFocus, int row, int column) {
-
-                Component component = super.getTableCellRendererComponent(table, value,
-                        isSelected, hasFocus, row, column);
-
-                applyRowStateColors(component, isSelected, row);
-                applyColumnColors(component, value, column, isSelected, row);
-                configureAlignment(component, column);
-                configureFont(component);
-
-                setBorder(BorderFactory.createEmptyBorder(0, 5, 0, 5));
-
-                return component;
-            }
-        };
-    }
-
-    /**
-     * Apply colors based on row state (selected/hover/normal)
-     */
-    private void applyRowStateColors(Component component, boolean isSelected, int row) {
-        if (isSelected) {
-            component.setBackground(new Color(173, 216, 230)); // Light blue for selection
-            component.setForeground(Color.BLACK);
-        } else if (row == hoveredRow) {
-            component.setBackground(new Color(240, 248, 255)); // Lightest blue for hover
-            component.setForeground(Color.BLACK);
-        } else {
-            // Alternating row colors
-            component.setBackground(row % 2 == 0 ? new Color(250, 250, 250) : Color.WHITE);
-            component.setForeground(Color.BLACK);
-        }
-    }
-
-    /**
-     * Apply special colors for Priority and Status columns
-     */
-    private void applyColumnColors(Component component, Object value, int column,
-            boolean isSelected, int row) {
-        // Skip color coding if row is selected or hovered
-        if (isSelected || row == hoveredRow)
-            return;
-
-        if (column == 2 && value != null) { // Priority column
-            switch (value.toString()) {
-                case "High":
-                    component.setBackground(new Color(255, 200, 200)); // Light red
-                    break;
-                case "Medium":
-                    component.setBackground(new Color(255, 235, 200)); // Light orange
-                    break;
-                case "Low":
-                    component.setBackground(new Color(220, 255, 220)); // Light green
-                    break;
-            }
-        } else if (column == 3 && value != null) { // Status column
-            switch (value.toString()) {
-                case "Completed":
-                    component.setBackground(new Color(200, 230, 255)); // Sky blue
-                    break;
-                case "In Progress":
-                    component.setBackground(new Color(230, 220, 255)); // Light purple
-                    break;
-                case "Pending":
-                    component.setBackground(new Color(240, 240, 240)); // Light gray
-                    break;
-            }
-        }
-    }
-
-    /**
-     * Configure text alignment for different columns
-     */
-    private void configureAlignment(Component component, int column) {
-        if (column == 2 || column == 3) { // Priority and Status columns
-            ((JLabel) component).setHorizontalAlignment(SwingConstants.CENTER);
-        } else {
-            ((JLabel) component).setHorizontalAlignment(SwingConstants.LEFT);
-        }
-    }
-
-    private void configureFont(Component component) {
-        component.setFont(new Font("SansSerif", Font.PLAIN, 12));
-    }
-
-    /**
-     * Setup special renderer for Task column với pin icons
-     */
-    private void setupTaskColumnRenderer(DefaultTableCellRenderer defaultRenderer) {
-        getColumnModel().getColumn(0).setCellRenderer(new DefaultTableCellRenderer() {
-            @Override
-            public Component getTableCellRendererComponent(JTable table, Object value,
-                    boolean isSelected, boolean hasFocus, int row, int column) {
-
-                JLabel label = (JLabel) defaultRenderer.getTableCellRendererComponent(
-                        table, value, isSelected, hasFocus, row, column);
-
-                // Show pin icon for pinned tasks
-                int modelRow = table.convertRowIndexToModel(row);
-                if (pinnedTaskRows.contains(modelRow)) {
-                    label.setIcon(UIManager.getIcon("FileView.floppyDriveIcon"));
-                    label.setText("📌 " + value);
-                    label.setIconTextGap(5);
-                } else {
-                    label.setIcon(null);
-                }
-
-                return label;
-            }
-        });
+        getColumnModel().getColumn(0).setCellRenderer(new TaskCellRenderer(true, true, CELL_FONT, CELL_PADDING));
     }
 
     // ==================== EVENT HANDLERS ====================
@@ -343,11 +225,33 @@ public class TaskTable extends JTable {
     /**
      * Update pinned tasks display
      */
-    public void updatePinnedTasks(LinkedHashSet<Integer> pinnedRows) {
-        this.pinnedTaskRows = pinnedRows;
+    public void updatePinnedTasks(OrderedLongSet pinnedIds) {
+        this.pinnedTaskIds = pinnedIds;
         repaint();
     }
 
+    /**
+     * Kiểm tra task tại model row có đang được pin hay không
+     */
+    public boolean isTaskPinned(int modelRow) {
+        return pinnedTaskIds.contains(getTaskId(modelRow));
+    }
+
+    /**
+     * Id của task tại model row, NO_ID nếu model không có cột id
+     */
+    public long getTaskId(int modelRow) {
+        TableModel model = getModel();
+        if (model instanceof TaskTableModel) {
+            return ((TaskTableModel) model).getTaskId(modelRow);
+        }
+        if (model.getColumnCount() <= ID_COLUMN) {
+            return Task.NO_ID;
+        }
+        Object value = model.getValueAt(modelRow, ID_COLUMN);
+        return value instanceof Long ? (Long) value : Task.NO_ID;
+    }
+
     // ==================== UTILITY METHODS ====================
 
     /**
@@ -357,29 +261,35 @@ public class TaskTable extends JTable {
         int selectedRow = getSelectedRow();
         if (selectedRow >= 0) {
             int modelRow = convertRowIndexToModel(selectedRow);
-            return (String) tableModel.getValueAt(modelRow, 0);
+            return (String) getModel().getValueAt(modelRow, 0);
         }
         return null;
     }
 
     /**
-     * Filter tasks based on search text
+     * Filter tasks có tên chứa text (không phân biệt hoa thường)
+     * Với TaskTableModel các dòng khớp được tra qua name index thay vì so từng dòng
      */
     public void filterTasks(String text) {
-        TableRowSorter<TableModel> sorter = (TableRowSorter<TableModel>) getRowSorter();
-        if (text == null || text.isEmpty()) {
+        if (!(getRowSorter() instanceof PinnedRowSorter)) {
+            return;
+        }
+        PinnedRowSorter sorter = (PinnedRowSorter) getRowSorter();
+        if (text == null || text.trim().isEmpty()) {
             sorter.setRowFilter(null);
-        } else {
-            sorter.setRowFilter(RowFilter.regexFilter("(?i)" + text));
+            return;
         }
+
+        boolean[] matches = null;
+        if (getModel() instanceof TaskTableModel) {
+            TaskTableModel model = (TaskTableModel) getModel();
+            matches = model.getRowMatches(model.findTaskIdsByName(text));
+        }
+        sorter.setRowFilter(TaskTableModel.createNameFilter(text), matches);
     }
 
     // ==================== GETTERS ====================
 
-    public DefaultTableModel getTableModel() {
-        return tableModel;
-    }
-
     public int getHoveredRow() {
         return hoveredRow;
     }
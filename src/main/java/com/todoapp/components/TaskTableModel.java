@@ -0,0 +1,234 @@
+package com.todoapp.components;
+
+import java.util.List;
+
+import javax.swing.RowFilter;
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableModel;
+
+import com.todoapp.models.Task;
+import com.todoapp.utils.TaskManager;
+
+/**
+ * TableModel đọc trực tiếp từ TaskManager thay vì sao chép mỗi task thành một dòng Object[]
+ * Model row là vị trí lưu trữ của task trong TaskManager, ngày chỉ được format khi cell được đọc
+ * Mọi thay đổi đi qua model để phát event cho đúng những dòng bị ảnh hưởng
+ */
+public class TaskTableModel extends AbstractTableModel {
+
+    public static final int NAME_COLUMN = 0;
+    public static final int DUE_DATE_COLUMN = 1;
+    public static final int PRIORITY_COLUMN = 2;
+    public static final int STATUS_COLUMN = 3;
+
+    private static final String[] COLUMN_NAMES = { "Task", "Due Date", "Priority", "Status", "Id" };
+
+    private static final int DATE_CACHE_SIZE = 1024; // Lũy thừa của 2
+
+    private final TaskManager taskManager;
+    private long modificationCount; // Tăng mỗi lần phát event thay đổi
+
+    // Cache ngày đã format, đánh index theo epoch-day (direct-mapped)
+    private final int[] formattedDays = new int[DATE_CACHE_SIZE];
+    private final String[] formattedDates = new String[DATE_CACHE_SIZE];
+
+    public TaskTableModel(TaskManager taskManager) {
+        this.taskManager = taskManager;
+    }
+
+    // ==================== TABLE MODEL ====================
+
+    @Override
+    public int getRowCount() {
+        return taskManager.getTaskCount();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        Task task = taskManager.getTask(rowIndex);
+        if (task == null) {
+            return null;
+        }
+
+        switch (columnIndex) {
+            case NAME_COLUMN:
+                return task.getName();
+            case DUE_DATE_COLUMN:
+                return formatDate(task.getDueDay());
+            case PRIORITY_COLUMN:
+                return task.getPriority();
+            case STATUS_COLUMN:
+                return task.getStatus();
+            case TaskTable.ID_COLUMN:
+                return task.getId();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Format ngày YYYY-MM-DD, chuỗi rỗng nếu không có ngày
+     * Chuỗi đã format được giữ lại theo epoch-day nên vẽ lại cell không tạo chuỗi mới
+     */
+    private String formatDate(int epochDay) {
+        if (epochDay == Task.NO_DUE_DATE) {
+            return "";
+        }
+
+        int slot = epochDay & (DATE_CACHE_SIZE - 1);
+        if (formattedDates[slot] == null || formattedDays[slot] != epochDay) {
+            formattedDates[slot] = Task.formatDueDay(epochDay);
+            formattedDays[slot] = epochDay;
+        }
+        return formattedDates[slot];
+    }
+
+    @Override
+    public void fireTableChanged(TableModelEvent e) {
+        modificationCount++;
+        super.fireTableChanged(e);
+    }
+
+    /**
+     * Số lần model đã thay đổi, dùng để biết một bản chụp dữ liệu còn khớp hay không
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    // ==================== TASK ACCESS ====================
+
+    /**
+     * Task tại model row, null nếu row không hợp lệ
+     */
+    public Task getTaskAt(int modelRow) {
+        return taskManager.getTask(modelRow);
+    }
+
+    /**
+     * Id của task tại model row, NO_ID nếu row không hợp lệ
+     */
+    public long getTaskId(int modelRow) {
+        Task task = taskManager.getTask(modelRow);
+        return task != null ? task.getId() : Task.NO_ID;
+    }
+
+    /**
+     * Model row của task có id cho trước, -1 nếu không có
+     */
+    public int getRowOfTask(long id) {
+        return taskManager.getTaskIndex(id);
+    }
+
+    // ==================== SEARCH ====================
+
+    /**
+     * Id các task có tên chứa keyword, tra qua name index của TaskManager (gọi được từ worker thread)
+     */
+    public long[] findTaskIdsByName(String keyword) {
+        return taskManager.findTaskIdsByName(keyword);
+    }
+
+    /**
+     * Đánh dấu model row của các task có id cho trước (dùng cho PinnedRowSorter.setRowFilter)
+     */
+    public boolean[] getRowMatches(long[] taskIds) {
+        boolean[] matches = new boolean[getRowCount()];
+        for (long id : taskIds) {
+            int row = taskManager.getTaskIndex(id);
+            if (row >= 0) {
+                matches[row] = true;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Filter theo tên chứa keyword (không phân biệt hoa thường), cùng ngữ nghĩa với name index
+     * Chỉ dùng để đánh giá lại từng dòng thay đổi, lần lọc toàn bảng dùng getRowMatches
+     */
+    public static RowFilter<TableModel, Integer> createNameFilter(String keyword) {
+        String query = keyword.toLowerCase().trim();
+        return new RowFilter<TableModel, Integer>() {
+            @Override
+            public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+                Object name = entry.getModel().getValueAt(entry.getIdentifier(), NAME_COLUMN);
+                return name != null && name.toString().toLowerCase().contains(query);
+            }
+        };
+    }
+
+    // ==================== TASK OPERATIONS ====================
+
+    public void addTask(Task task) {
+        taskManager.addTask(task);
+        int row = taskManager.getTaskCount() - 1;
+        fireTableRowsInserted(row, row);
+    }
+
+    /**
+     * Thêm nhiều task, chỉ phát một event cho cả khoảng dòng mới
+     */
+    public void addTasks(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        int firstRow = taskManager.getTaskCount();
+        for (Task task : tasks) {
+            taskManager.addTask(task);
+        }
+        fireTableRowsInserted(firstRow, taskManager.getTaskCount() - 1);
+    }
+
+    public boolean updateTask(long id, Task task) {
+        if (!taskManager.updateTaskById(id, task)) {
+            return false;
+        }
+        int row = taskManager.getTaskIndex(id);
+        fireTableRowsUpdated(row, row);
+        return true;
+    }
+
+    public boolean setTaskPinned(long id, boolean pinned) {
+        if (!taskManager.setTaskPinnedById(id, pinned)) {
+            return false;
+        }
+        int row = taskManager.getTaskIndex(id);
+        fireTableRowsUpdated(row, row);
+        return true;
+    }
+
+    /**
+     * Xóa task theo id
+     * TaskManager chuyển task cuối vào chỗ trống nên dòng cuối bị xóa và dòng của task bị xóa được cập nhật
+     */
+    public boolean deleteTask(long id) {
+        int row = taskManager.getTaskIndex(id);
+        int lastRow = taskManager.getTaskCount() - 1;
+        if (row < 0 || !taskManager.deleteTaskById(id)) {
+            return false;
+        }
+
+        fireTableRowsDeleted(lastRow, lastRow);
+        if (row != lastRow) {
+            fireTableRowsUpdated(row, row);
+        }
+        return true;
+    }
+
+    public void clearTasks() {
+        taskManager.clearAllTasks();
+        fireTableDataChanged();
+    }
+}
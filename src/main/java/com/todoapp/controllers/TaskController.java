@@ -2,26 +2,31 @@ package com.todoapp.controllers;
 
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.PrintWriter;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Date;
-import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
 import javax.swing.filechooser.FileNameExtensionFilter;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableRowSorter;
 
 import com.todoapp.components.TaskTable;
+import com.todoapp.components.TaskTableModel;
+import com.todoapp.models.Priority;
+import com.todoapp.models.Status;
 import com.todoapp.models.Task;
+import com.todoapp.utils.OrderedLongSet;
+import com.todoapp.utils.PinnedRowSorter;
+import com.todoapp.utils.TaskStatistics;
 import com.todoapp.views.DatePickerDialog;
 import com.todoapp.views.MainWindow;
 import com.todoapp.views.TaskDialog;
@@ -33,19 +38,18 @@ import com.todoapp.views.TaskDialog;
 public class TaskController {
   private MainWindow mainWindow;
   private TaskTable taskTable;
-  private DefaultTableModel tableModel;
-  private LinkedHashSet<Integer> pinnedTaskRows;
-  private TableRowSorter<DefaultTableModel> rowSorter;
+  private TaskTableModel tableModel;
+  private OrderedLongSet pinnedTaskIds;
+  private PinnedRowSorter rowSorter;
 
   public TaskController(MainWindow mainWindow, TaskTable taskTable) {
     this.mainWindow = mainWindow;
     this.taskTable = taskTable;
-    this.tableModel = taskTable.getTableModel();
-    this.pinnedTaskRows = new LinkedHashSet<>();
+    this.tableModel = mainWindow.getTableModel(); // Model đang hiển thị, đọc/ghi thẳng vào TaskManager
+    this.pinnedTaskIds = mainWindow.getPinnedTaskIds(); // Dùng chung với MainWindow
 
-    if (taskTable.getRowSorter() != null &&
-        taskTable.getRowSorter() instanceof TableRowSorter) {
-      rowSorter = (TableRowSorter<DefaultTableModel>) taskTable.getRowSorter();
+    if (taskTable.getRowSorter() instanceof PinnedRowSorter) {
+      rowSorter = (PinnedRowSorter) taskTable.getRowSorter();
     }
 
     setupListeners();
@@ -75,16 +79,16 @@ public class TaskController {
    * Thêm task mới thông qua dialog
    */
   public void addTask() {
-    TaskDialog dialog = new TaskDialog(mainWindow, "Add New Task", "", "", "Medium", "Pending");
+    TaskDialog dialog = new TaskDialog(mainWindow, "Add New Task", "", "", Priority.DEFAULT, Status.DEFAULT);
     dialog.setVisible(true);
 
     if (dialog.isConfirmed()) {
-      String name = dialog.getTaskName();
-      String dueDate = dialog.getDueDate();
-      String priority = dialog.getPriority();
-      String status = dialog.getStatus();
+      Task newTask = new Task(dialog.getTaskName());
+      newTask.setDueDate(dialog.getDueDateObject());
+      newTask.setPriority(dialog.getPriority());
+      newTask.setStatus(dialog.getStatus());
 
-      tableModel.addRow(new Object[] { name, dueDate, priority, status });
+      tableModel.addTask(newTask);
       mainWindow.updateTaskCount();
 
       JOptionPane.showMessageDialog(mainWindow,
@@ -106,21 +110,23 @@ public class TaskController {
     }
 
     int modelRow = taskTable.convertRowIndexToModel(viewRow);
-
-    String currentTask = (String) tableModel.getValueAt(modelRow, 0);
-    String currentDate = (String) tableModel.getValueAt(modelRow, 1);
-    String currentPriority = (String) tableModel.getValueAt(modelRow, 2);
-    String currentStatus = (String) tableModel.getValueAt(modelRow, 3);
+    long taskId = tableModel.getTaskId(modelRow);
 
     TaskDialog dialog = new TaskDialog(mainWindow, "Edit Task",
-        currentTask, currentDate, currentPriority, currentStatus);
+        (String) tableModel.getValueAt(modelRow, TaskTableModel.NAME_COLUMN),
+        (String) tableModel.getValueAt(modelRow, TaskTableModel.DUE_DATE_COLUMN),
+        (Priority) tableModel.getValueAt(modelRow, TaskTableModel.PRIORITY_COLUMN),
+        (Status) tableModel.getValueAt(modelRow, TaskTableModel.STATUS_COLUMN));
     dialog.setVisible(true);
 
     if (dialog.isConfirmed()) {
-      tableModel.setValueAt(dialog.getTaskName(), modelRow, 0);
-      tableModel.setValueAt(dialog.getDueDate(), modelRow, 1);
-      tableModel.setValueAt(dialog.getPriority(), modelRow, 2);
-      tableModel.setValueAt(dialog.getStatus(), modelRow, 3);
+      Task updatedTask = new Task(dialog.getTaskName());
+      updatedTask.setDueDate(dialog.getDueDateObject());
+      updatedTask.setPriority(dialog.getPriority());
+      updatedTask.setStatus(dialog.getStatus());
+      updatedTask.setPinned(pinnedTaskIds.contains(taskId));
+
+      tableModel.updateTask(taskId, updatedTask);
       mainWindow.updateTaskCount();
     }
   }
@@ -137,7 +143,7 @@ public class TaskController {
     }
 
     int modelRow = taskTable.convertRowIndexToModel(viewRow);
-    String taskName = (String) tableModel.getValueAt(modelRow, 0);
+    String taskName = (String) tableModel.getValueAt(modelRow, TaskTableModel.NAME_COLUMN);
 
     int confirm = JOptionPane.showConfirmDialog(mainWindow,
         "Are you sure you want to delete \"" + taskName + "\"?",
@@ -145,17 +151,12 @@ public class TaskController {
         JOptionPane.QUESTION_MESSAGE);
 
     if (confirm == JOptionPane.YES_OPTION) {
-      pinnedTaskRows.remove(modelRow);
-
-      // Cập nhật lại index cho các pinned tasks
-      for (Integer pinnedRow : new ArrayList<>(pinnedTaskRows)) {
-        if (pinnedRow > modelRow) {
-          pinnedTaskRows.remove(pinnedRow);
-          pinnedTaskRows.add(pinnedRow - 1);
-        }
-      }
+      long taskId = tableModel.getTaskId(modelRow);
+      pinnedTaskIds.remove(taskId);
+      tableModel.deleteTask(taskId);
 
-      tableModel.removeRow(modelRow);
+      // Task cuối được chuyển vào dòng vừa xóa, không để nó bị chọn thay
+      taskTable.clearSelection();
       mainWindow.updateTaskCount();
     }
   }
@@ -166,17 +167,13 @@ public class TaskController {
    * Chuyển đổi trạng thái pin của task
    */
   public void togglePinTask(int modelRow) {
-    if (pinnedTaskRows.contains(modelRow)) {
-      pinnedTaskRows.remove(modelRow);
-    } else {
-      pinnedTaskRows.add(modelRow);
-    }
-
-    taskTable.updatePinnedTasks(pinnedTaskRows);
-
-    if (rowSorter != null) {
-      rowSorter.sort();
+    long taskId = tableModel.getTaskId(modelRow);
+    if (!pinnedTaskIds.remove(taskId)) {
+      pinnedTaskIds.add(taskId);
     }
+    // Event cập nhật dòng đưa task về đúng vị trí trong sorter
+    tableModel.setTaskPinned(taskId, pinnedTaskIds.contains(taskId));
+    taskTable.repaint();
   }
 
   /**
@@ -230,15 +227,15 @@ public class TaskController {
         file = new File(path + ".csv");
       }
 
-      try (PrintWriter writer = new PrintWriter(file)) {
+      try (PrintWriter writer = new PrintWriter(file, StandardCharsets.UTF_8)) {
         writer.println("Task,DueDate,Priority,Status,Pinned");
 
         for (int i = 0; i < tableModel.getRowCount(); i++) {
-          String task = (String) tableModel.getValueAt(i, 0);
-          String dueDate = (String) tableModel.getValueAt(i, 1);
-          String priority = (String) tableModel.getValueAt(i, 2);
-          String status = (String) tableModel.getValueAt(i, 3);
-          boolean isPinned = pinnedTaskRows.contains(i);
+          String task = (String) tableModel.getValueAt(i, TaskTableModel.NAME_COLUMN);
+          String dueDate = (String) tableModel.getValueAt(i, TaskTableModel.DUE_DATE_COLUMN);
+          String priority = Objects.toString(tableModel.getValueAt(i, TaskTableModel.PRIORITY_COLUMN), "");
+          String status = Objects.toString(tableModel.getValueAt(i, TaskTableModel.STATUS_COLUMN), "");
+          boolean isPinned = pinnedTaskIds.contains(tableModel.getTaskId(i));
 
           writer.println(
               escapeCSV(task) + "," +
@@ -274,10 +271,10 @@ public class TaskController {
     if (choice == JFileChooser.APPROVE_OPTION) {
       File file = fileChooser.getSelectedFile();
 
-      try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+      try (BufferedReader reader = new BufferedReader(
+          new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
         String line;
         boolean isFirstLine = true;
-        int addedCount = 0;
 
         int confirm = JOptionPane.showConfirmDialog(mainWindow,
             "Do you want to replace existing tasks or append imported tasks?",
@@ -285,13 +282,10 @@ public class TaskController {
 
         if (confirm == JOptionPane.CANCEL_OPTION) {
           return;
-        } else if (confirm == JOptionPane.YES_OPTION) {
-          while (tableModel.getRowCount() > 0) {
-            tableModel.removeRow(0);
-          }
-          pinnedTaskRows.clear();
         }
 
+        List<Task> importedTasks = new ArrayList<>();
+
         while ((line = reader.readLine()) != null) {
           if (isFirstLine) {
             isFirstLine = false;
@@ -302,28 +296,27 @@ public class TaskController {
 
           String[] parts = parseCSVLine(line);
           if (parts.length >= 4) {
-            tableModel.addRow(new Object[] {
-                parts[0], parts[1], parts[2], parts[3]
-            });
-
-            if (parts.length >= 5 && parts[4].trim().equalsIgnoreCase("true")) {
-              pinnedTaskRows.add(tableModel.getRowCount() - 1);
-            }
-
-            addedCount++;
+            importedTasks.add(parseImportedTask(parts));
           }
         }
 
-        taskTable.updatePinnedTasks(pinnedTaskRows);
-
-        if (rowSorter != null) {
-          rowSorter.sort();
+        if (confirm == JOptionPane.YES_OPTION) {
+          pinnedTaskIds.clear();
+          tableModel.clearTasks();
+        }
+        // Thêm cả lô qua model: TaskManager gán id, bảng nhận một event cho các dòng mới
+        tableModel.addTasks(importedTasks);
+        for (Task task : importedTasks) {
+          if (task.isPinned()) {
+            pinnedTaskIds.add(task.getId());
+          }
         }
 
+        taskTable.updatePinnedTasks(pinnedTaskIds);
         mainWindow.updateTaskCount();
 
         JOptionPane.showMessageDialog(mainWindow,
-            addedCount + " tasks imported successfully!",
+            importedTasks.size() + " tasks imported successfully!",
             "Import Complete", JOptionPane.INFORMATION_MESSAGE);
 
       } catch (IOException e) {
@@ -338,71 +331,11 @@ public class TaskController {
   // ==================== SAVE OPERATIONS ====================
 
   /**
-   * Lưu tất cả tasks từ UI vào file data.txt
-   * Sử dụng cách tiếp cận tương tự export để đảm bảo tính nhất quán
+   * Lưu tasks vào file (chờ ghi xong)
    */
   public boolean saveTasksFromUI() {
     try {
-      // Lấy đường dẫn file data.txt trong resources/data/
-      String projectDir = System.getProperty("user.dir");
-      String resourcesPath = "src/main/resources/data/data.txt";
-      File dataFile = new File(projectDir, resourcesPath);
-
-      System.out.println("TaskController: Lưu dữ liệu vào: " + dataFile.getAbsolutePath());
-
-      // Tạo backup trước khi lưu
-      createBackupBeforeSave(dataFile);
-
-      // Đảm bảo thư mục tồn tại
-      File parentDir = dataFile.getParentFile();
-      if (!parentDir.exists()) {
-        parentDir.mkdirs();
-      }
-
-      // Lấy dữ liệu trực tiếp từ bảng UI (giống như export)
-      DefaultTableModel tableModel = (DefaultTableModel) taskTable.getModel();
-      int rowCount = tableModel.getRowCount();
-
-      System.out.println("TaskController: Số dòng trong bảng UI: " + rowCount);
-
-      try (PrintWriter writer = new PrintWriter(dataFile, "UTF-8")) {
-        // Ghi header giống như TaskStorage
-        writer.println("# Todo List App Data");
-        writer.println("# Format: TaskName|DueDate|Priority|Status|IsPinned");
-        writer.println("# Generated: " + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()));
-        writer.println();
-
-        int savedCount = 0;
-
-        // Lưu từng dòng từ bảng UI
-        for (int i = 0; i < rowCount; i++) {
-          String taskName = getTableValue(tableModel, i, 0);
-          String dueDate = getTableValue(tableModel, i, 1);
-          String priority = getTableValue(tableModel, i, 2);
-          String status = getTableValue(tableModel, i, 3);
-
-          // Bỏ qua dòng trống
-          if (taskName == null || taskName.trim().isEmpty()) {
-            continue;
-          }
-
-          // Format dòng dữ liệu
-          String line = formatTaskLineFromUI(taskName, dueDate, priority, status);
-          writer.println(line);
-          savedCount++;
-
-          System.out.println("TaskController: Lưu task " + savedCount + ": " + taskName);
-        }
-
-        System.out.println("TaskController: Đã lưu " + savedCount + " task thành công từ UI");
-        return savedCount >= 0; // Cho phép lưu file trống
-
-      } catch (IOException e) {
-        System.err.println("TaskController: Lỗi khi ghi file: " + e.getMessage());
-        e.printStackTrace();
-        return false;
-      }
-
+      return saveTasksFromUIAsync().join();
     } catch (Exception e) {
       System.err.println("TaskController: Lỗi khi lưu từ UI: " + e.getMessage());
       e.printStackTrace();
@@ -411,57 +344,11 @@ public class TaskController {
   }
 
   /**
-   * Tạo bản sao lưu trước khi lưu file data.txt
-   */
-  private void createBackupBeforeSave(File dataFile) {
-    if (dataFile.exists() && dataFile.length() > 0) {
-      try {
-        File backupFile = new File(dataFile.getAbsolutePath() + ".backup");
-        Files.copy(dataFile.toPath(), backupFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-        System.out.println("TaskController: Đã tạo backup tại: " + backupFile.getAbsolutePath());
-      } catch (IOException e) {
-        System.err.println("TaskController: Không thể tạo backup: " + e.getMessage());
-      }
-    }
-  }
-
-  /**
-   * Format task line từ dữ liệu UI
+   * Lưu tasks trên background thread, không chặn EDT
+   * Bảng đọc thẳng từ TaskManager nên chỉ cần lưu các thay đổi đang chờ (delta vào journal hoặc snapshot)
    */
-  private String formatTaskLineFromUI(String taskName, String dueDate, String priority, String status) {
-    StringBuilder line = new StringBuilder();
-
-    // Task name (escape ký tự |)
-    line.append(taskName.replace("|", "\\|")).append("|");
-
-    // Due date
-    line.append(dueDate != null ? dueDate.trim() : "").append("|");
-
-    // Priority (mặc định Medium)
-    String priorityValue = (priority != null && !priority.trim().isEmpty()) ? priority.trim() : "Medium";
-    line.append(priorityValue).append("|");
-
-    // Status (mặc định Pending)
-    String statusValue = (status != null && !status.trim().isEmpty()) ? status.trim() : "Pending";
-    line.append(statusValue).append("|");
-
-    // IsPinned (mặc định false)
-    line.append("false");
-
-    return line.toString();
-  }
-
-  /**
-   * Lấy giá trị từ bảng với xử lý null safety
-   */
-  private String getTableValue(DefaultTableModel model, int row, int col) {
-    try {
-      Object value = model.getValueAt(row, col);
-      return value != null ? value.toString().trim() : "";
-    } catch (Exception e) {
-      System.err.println("TaskController: Lỗi khi lấy giá trị tại [" + row + "," + col + "]: " + e.getMessage());
-      return "";
-    }
+  public CompletableFuture<Boolean> saveTasksFromUIAsync() {
+    return mainWindow.getTaskManager().saveTasksToFileAsync();
   }
 
   // ==================== UTILITY METHODS ====================
@@ -478,6 +365,26 @@ public class TaskController {
     return value;
   }
 
+  /**
+   * Tạo Task từ các cột Task,DueDate,Priority,Status[,Pinned] của một dòng CSV
+   */
+  private Task parseImportedTask(String[] parts) {
+    Task task = new Task(parts[0].trim());
+    task.setPriority(Priority.parse(parts[2]));
+    task.setStatus(Status.parse(parts[3]));
+
+    if (!parts[1].trim().isEmpty()) {
+      try {
+        task.setDueDay(Task.parseDueDay(parts[1].trim()));
+      } catch (DateTimeException e) {
+        // Ignore date parsing errors
+      }
+    }
+
+    task.setPinned(parts.length >= 5 && parts[4].trim().equalsIgnoreCase("true"));
+    return task;
+  }
+
   /**
    * Parse dòng CSV với xử lý quotes
    */
@@ -508,55 +415,6 @@ public class TaskController {
     return result.toArray(new String[0]);
   }
 
-  /**
-   * Đồng bộ dữ liệu từ UI về TaskManager
-   */
-  private void syncUIToTaskManager() {
-    try {
-      DefaultTableModel model = (DefaultTableModel) taskTable.getModel();
-      List<Task> uiTasks = new ArrayList<>();
-
-      for (int i = 0; i < model.getRowCount(); i++) {
-        String name = (String) model.getValueAt(i, 0);
-        String dueDate = (String) model.getValueAt(i, 1);
-        String priority = (String) model.getValueAt(i, 2);
-        String status = (String) model.getValueAt(i, 3);
-
-        if (name != null && !name.trim().isEmpty()) {
-          Task task = new Task(name.trim());
-          task.setPriority(priority != null ? priority : "Medium");
-          task.setStatus(status != null ? status : "Pending");
-
-          if (dueDate != null && !dueDate.trim().isEmpty()) {
-            try {
-              SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-              task.setDueDate(dateFormat.parse(dueDate));
-            } catch (Exception e) {
-              // Ignore date parsing errors
-            }
-          }
-
-          if (pinnedTaskRows != null && pinnedTaskRows.contains(i)) {
-            task.setPinned(true);
-          }
-
-          uiTasks.add(task);
-        }
-      }
-
-      mainWindow.getTaskManager().clearAllTasks();
-      for (Task task : uiTasks) {
-        mainWindow.getTaskManager().addTask(task);
-      }
-
-      System.out.println("Synced " + uiTasks.size() + " tasks from UI to TaskManager");
-
-    } catch (Exception e) {
-      System.err.println("Error syncing UI to TaskManager: " + e.getMessage());
-      e.printStackTrace();
-    }
-  }
-
   /**
    * Validate dữ liệu task input
    */
@@ -590,27 +448,10 @@ public class TaskController {
    * Hiển thị dialog tiến độ với thông báo động lực
    */
   public void showProgressDialog() {
-    int total = tableModel.getRowCount();
-    int completed = 0;
-    int inProgress = 0;
-    int pending = 0;
-
-    for (int i = 0; i < total; i++) {
-      String status = (String) tableModel.getValueAt(i, 3);
-      switch (status) {
-        case "Completed":
-          completed++;
-          break;
-        case "In Progress":
-          inProgress++;
-          break;
-        case "Pending":
-          pending++;
-          break;
-      }
-    }
-
-    double percentage = total > 0 ? (completed * 100.0 / total) : 0;
+    TaskStatistics statistics = mainWindow.getTaskManager().getStatistics();
+    int total = statistics.getTotalCount();
+    int completed = statistics.getCompletedCount();
+    double percentage = statistics.getCompletionPercentage();
 
     String message;
     if (percentage == 100) {
@@ -637,17 +478,17 @@ public class TaskController {
    * Hiển thị calendar dialog
    */
   public void showCalendarDialog() {
-    DatePickerDialog dialog = new DatePickerDialog(mainWindow, tableModel);
+    DatePickerDialog dialog = new DatePickerDialog(mainWindow, mainWindow.getTaskManager());
     dialog.setVisible(true);
   }
 
   // ==================== GETTERS ====================
 
-  public LinkedHashSet<Integer> getPinnedTaskRows() {
-    return pinnedTaskRows;
+  public OrderedLongSet getPinnedTaskIds() {
+    return pinnedTaskIds;
   }
 
   public boolean isTaskPinned(int modelRow) {
-    return pinnedTaskRows.contains(modelRow);
+    return pinnedTaskIds.contains(tableModel.getTaskId(modelRow));
   }
 }
\ No newline at end of file
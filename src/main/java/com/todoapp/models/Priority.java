@@ -0,0 +1,62 @@
+package com.todoapp.models;
+
+/**
+ * Mức ưu tiên của task
+ * Ordinal là mã 1 byte dùng để sắp xếp và lưu file (High xếp trước), không đổi thứ tự các hằng
+ */
+public enum Priority {
+  HIGH("High"),
+  MEDIUM("Medium"),
+  LOW("Low");
+
+  /** Giá trị dùng khi thiếu hoặc không nhận ra chuỗi */
+  public static final Priority DEFAULT = MEDIUM;
+
+  private static final Priority[] VALUES = values();
+
+  private final String label;
+
+  Priority(String label) {
+    this.label = label;
+  }
+
+  /**
+   * Chuỗi hiển thị và ghi vào file text ("High", "Medium", "Low")
+   */
+  public String getLabel() {
+    return label;
+  }
+
+  public byte getCode() {
+    return (byte) ordinal();
+  }
+
+  /**
+   * Priority theo mã byte, DEFAULT nếu mã không hợp lệ
+   */
+  public static Priority fromCode(int code) {
+    return code >= 0 && code < VALUES.length ? VALUES[code] : DEFAULT;
+  }
+
+  /**
+   * Parse label ("High") hoặc tên hằng ("HIGH"), không phân biệt hoa thường
+   * Chuỗi rỗng, null hoặc không nhận ra trả về DEFAULT để file cũ vẫn tải được
+   */
+  public static Priority parse(String text) {
+    if (text == null) {
+      return DEFAULT;
+    }
+    String trimmed = text.trim();
+    for (Priority priority : VALUES) {
+      if (priority.label.equalsIgnoreCase(trimmed) || priority.name().equalsIgnoreCase(trimmed)) {
+        return priority;
+      }
+    }
+    return DEFAULT;
+  }
+
+  @Override
+  public String toString() {
+    return label;
+  }
+}
@@ -0,0 +1,62 @@
+package com.todoapp.models;
+
+/**
+ * Trạng thái của task
+ * Ordinal là mã 1 byte dùng để sắp xếp và lưu file (In Progress xếp trước), không đổi thứ tự các hằng
+ */
+public enum Status {
+  IN_PROGRESS("In Progress"),
+  PENDING("Pending"),
+  COMPLETED("Completed");
+
+  /** Giá trị dùng khi thiếu hoặc không nhận ra chuỗi */
+  public static final Status DEFAULT = PENDING;
+
+  private static final Status[] VALUES = values();
+
+  private final String label;
+
+  Status(String label) {
+    this.label = label;
+  }
+
+  /**
+   * Chuỗi hiển thị và ghi vào file text ("In Progress", "Pending", "Completed")
+   */
+  public String getLabel() {
+    return label;
+  }
+
+  public byte getCode() {
+    return (byte) ordinal();
+  }
+
+  /**
+   * Status theo mã byte, DEFAULT nếu mã không hợp lệ
+   */
+  public static Status fromCode(int code) {
+    return code >= 0 && code < VALUES.length ? VALUES[code] : DEFAULT;
+  }
+
+  /**
+   * Parse label ("In Progress") hoặc tên hằng ("IN_PROGRESS"), không phân biệt hoa thường
+   * Chuỗi rỗng, null hoặc không nhận ra trả về DEFAULT để file cũ vẫn tải được
+   */
+  public static Status parse(String text) {
+    if (text == null) {
+      return DEFAULT;
+    }
+    String trimmed = text.trim();
+    for (Status status : VALUES) {
+      if (status.label.equalsIgnoreCase(trimmed) || status.name().equalsIgnoreCase(trimmed)) {
+        return status;
+      }
+    }
+    return DEFAULT;
+  }
+
+  @Override
+  public String toString() {
+    return label;
+  }
+}
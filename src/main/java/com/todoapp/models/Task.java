@@ -1,8 +1,12 @@
 package com.todoapp.models;
 
 import java.io.Serializable;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
 import java.util.Date;
 
 /**
@@ -12,20 +16,41 @@ import java.util.Date;
 public class Task implements Serializable, Comparable<Task> {
   private static final long serialVersionUID = 1L;
 
+  /** Giá trị id của task chưa được TaskManager cấp id */
+  public static final long NO_ID = 0L;
+
+  /** Giá trị due day của task không có due date */
+  public static final int NO_DUE_DATE = Integer.MIN_VALUE;
+
+  // Formatter java.time bất biến nên dùng chung giữa các thread
+  private static final DateTimeFormatter DUE_DATE_FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd")
+      .withResolverStyle(ResolverStyle.STRICT);
+  // Dạng không chuẩn (thiếu số 0, ngày tràn như 2025-02-30) được chấp nhận như SimpleDateFormat lenient
+  private static final DateTimeFormatter LENIENT_DUE_DATE_FORMAT = DateTimeFormatter.ofPattern("u-M-d")
+      .withResolverStyle(ResolverStyle.LENIENT);
+
+  private long id = NO_ID; // ID ổn định, được ghi xuống file
   private String name;
-  private Date dueDate;
-  private String priority;
-  private String status;
+  private int dueDay = NO_DUE_DATE; // Số ngày kể từ 1970-01-01 (theo lịch, không phụ thuộc múi giờ)
+  private Priority priority;
+  private Status status;
   private boolean pinned;
 
   /**
    * Constructor to create a new task with all properties
    */
-  public Task(String name, Date dueDate, String priority, String status, boolean pinned) {
+  public Task(String name, Date dueDate, Priority priority, Status status, boolean pinned) {
+    this(name, toEpochDay(dueDate), priority, status, pinned);
+  }
+
+  /**
+   * Constructor với due date dạng epoch-day (NO_DUE_DATE nếu không có)
+   */
+  public Task(String name, int dueDay, Priority priority, Status status, boolean pinned) {
     this.name = name;
-    this.dueDate = dueDate;
-    this.priority = priority;
-    this.status = status;
+    this.dueDay = dueDay;
+    setPriority(priority);
+    setStatus(status);
     this.pinned = pinned;
   }
 
@@ -33,16 +58,24 @@ public class Task implements Serializable, Comparable<Task> {
    * Simplified constructor with defaults
    */
   public Task(String name, Date dueDate) {
-    this(name, dueDate, "Medium", "Pending", false);
+    this(name, dueDate, Priority.DEFAULT, Status.DEFAULT, false);
   }
 
   // Thêm constructor này
   public Task(String name) {
-    this(name, null, "Medium", "Pending", false);
+    this(name, null, Priority.DEFAULT, Status.DEFAULT, false);
   }
 
   // Getters and setters
 
+  public long getId() {
+    return id;
+  }
+
+  public void setId(long id) {
+    this.id = id;
+  }
+
   public String getName() {
     return name;
   }
@@ -51,28 +84,57 @@ public class Task implements Serializable, Comparable<Task> {
     this.name = name;
   }
 
+  /**
+   * Due date dạng Date (00:00 theo múi giờ hệ thống), tạo object mới mỗi lần gọi
+   * Code chỉ cần so sánh/format nên dùng getDueDay
+   */
   public Date getDueDate() {
-    return dueDate;
+    if (dueDay == NO_DUE_DATE) {
+      return null;
+    }
+    Instant instant = LocalDate.ofEpochDay(dueDay).atStartOfDay(ZoneId.systemDefault()).toInstant();
+    return Date.from(instant);
   }
 
   public void setDueDate(Date dueDate) {
-    this.dueDate = dueDate;
+    this.dueDay = toEpochDay(dueDate);
+  }
+
+  /**
+   * Due date dạng epoch-day, NO_DUE_DATE nếu không có
+   */
+  public int getDueDay() {
+    return dueDay;
   }
 
-  public String getPriority() {
+  public void setDueDay(int dueDay) {
+    this.dueDay = dueDay;
+  }
+
+  public boolean hasDueDate() {
+    return dueDay != NO_DUE_DATE;
+  }
+
+  public Priority getPriority() {
     return priority;
   }
 
-  public void setPriority(String priority) {
-    this.priority = priority;
+  /**
+   * null được thay bằng Priority.DEFAULT
+   */
+  public void setPriority(Priority priority) {
+    this.priority = priority != null ? priority : Priority.DEFAULT;
   }
 
-  public String getStatus() {
+  public Status getStatus() {
     return status;
   }
 
-  public void setStatus(String status) {
-    this.status = status;
+  /**
+   * null được thay bằng Status.DEFAULT
+   */
+  public void setStatus(Status status) {
+    this.status = status != null ? status : Status.DEFAULT;
   }
 
   public boolean isPinned() {
@@ -92,61 +154,32 @@ public class Task implements Serializable, Comparable<Task> {
 
   /**
    * Check if task is overdue based on current date
+   * Khi cần kiểm tra nhiều task nên dùng TaskManager.isTaskOverdue (tra tập quá hạn đã tính sẵn)
    */
   public boolean isOverdue() {
-    if (dueDate == null) {
-      return false;
-    }
-
-    if ("Completed".equals(status)) {
+    if (dueDay == NO_DUE_DATE) {
       return false;
     }
 
-    Date today = new Date();
-
-    // Reset time part for today to compare dates only
-    SimpleDateFormat dateOnlyFormat = new SimpleDateFormat("yyyy-MM-dd");
-    String todayStr = dateOnlyFormat.format(today);
-    Date todayDateOnly;
-    try {
-      todayDateOnly = dateOnlyFormat.parse(todayStr);
-    } catch (ParseException e) {
+    if (status == Status.COMPLETED) {
       return false;
     }
 
-    return dueDate.before(todayDateOnly);
+    return dueDay < LocalDate.now().toEpochDay();
   }
 
   /**
    * Get priority as integer value for sorting
    */
   public int getPriorityValue() {
-    switch (priority) {
-      case "High":
-        return 0;
-      case "Medium":
-        return 1;
-      case "Low":
-        return 2;
-      default:
-        return 3;
-    }
+    return priority.ordinal();
   }
 
   /**
    * Get status as integer value for sorting
    */
   public int getStatusValue() {
-    switch (status) {
-      case "In Progress":
-        return 0;
-      case "Pending":
-        return 1;
-      case "Completed":
-        return 2;
-      default:
-        return 3;
-    }
+    return status.ordinal();
   }
 
   /**
@@ -162,27 +195,64 @@ public class Task implements Serializable, Comparable<Task> {
       return 1;
 
     // Then sort by priority
-    int priorityCompare = Integer.compare(this.getPriorityValue(), other.getPriorityValue());
+    int priorityCompare = this.priority.compareTo(other.priority);
     if (priorityCompare != 0)
       return priorityCompare;
 
     // Then sort by due date
-    if (this.dueDate != null && other.dueDate != null) {
-      return this.dueDate.compareTo(other.dueDate);
-    } else if (this.dueDate == null && other.dueDate != null) {
+    if (this.dueDay != NO_DUE_DATE && other.dueDay != NO_DUE_DATE) {
+      return Integer.compare(this.dueDay, other.dueDay);
+    } else if (this.dueDay == NO_DUE_DATE && other.dueDay != NO_DUE_DATE) {
       return 1;
-    } else if (this.dueDate != null && other.dueDate == null) {
+    } else if (this.dueDay != NO_DUE_DATE && other.dueDay == NO_DUE_DATE) {
       return -1;
     }
 
     // Finally sort by name
-    return this.name.compareTo(other.name);
+    return this.getName().compareTo(other.getName());
   }
 
   @Override
   public String toString() {
-    SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-    String dueDateStr = (dueDate != null) ? dateFormat.format(dueDate) : "No due date";
-    return name + " (Due: " + dueDateStr + ", Priority: " + priority + ", Status: " + status + ")";
+    String dueDateStr = (dueDay != NO_DUE_DATE) ? formatDueDay(dueDay) : "No due date";
+    return getName() + " (Due: " + dueDateStr + ", Priority: " + priority + ", Status: " + status + ")";
+  }
+
+  // ==================== DUE DATE CONVERSION ====================
+
+  /**
+   * Format epoch-day thành yyyy-MM-dd, chuỗi rỗng nếu NO_DUE_DATE
+   */
+  public static String formatDueDay(int dueDay) {
+    return dueDay != NO_DUE_DATE ? DUE_DATE_FORMAT.format(LocalDate.ofEpochDay(dueDay)) : "";
+  }
+
+  /**
+   * Parse yyyy-MM-dd thành epoch-day, NO_DUE_DATE nếu chuỗi rỗng
+   * @throws DateTimeException nếu không parse được
+   */
+  public static int parseDueDay(String text) {
+    if (text == null || text.trim().isEmpty()) {
+      return NO_DUE_DATE;
+    }
+    String trimmed = text.trim();
+    if (trimmed.length() == 10) {
+      try {
+        return (int) LocalDate.parse(trimmed, DUE_DATE_FORMAT).toEpochDay();
+      } catch (DateTimeException e) {
+        // Thử lại với dạng lenient bên dưới
+      }
+    }
+    return (int) LocalDate.parse(trimmed, LENIENT_DUE_DATE_FORMAT).toEpochDay();
+  }
+
+  /**
+   * Chuyển Date sang epoch-day theo múi giờ hệ thống, NO_DUE_DATE nếu null
+   */
+  public static int toEpochDay(Date date) {
+    if (date == null) {
+      return NO_DUE_DATE;
+    }
+    return (int) date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
   }
 }
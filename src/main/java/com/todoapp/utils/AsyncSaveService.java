@@ -0,0 +1,144 @@
+package com.todoapp.utils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.todoapp.models.Task;
+
+/**
+ * Lưu bất đồng bộ (write-behind) trên một background thread
+ * Các yêu cầu lưu dồn dập được gộp lại: chỉ snapshot mới nhất được ghi xuống đĩa,
+ * mọi yêu cầu trong cùng đợt nhận chung một future kết quả
+ */
+public class AsyncSaveService {
+  private final TaskStorage taskStorage;
+  private final ExecutorService writerExecutor;
+
+  // Snapshot đang chờ ghi (null nếu không có)
+  private List<Task> pendingSnapshot;
+  private long pendingSeq;
+  private CompletableFuture<Boolean> pendingFuture;
+  private CompletableFuture<Boolean> pendingSyncFuture;
+  private boolean closed;
+
+  public AsyncSaveService(TaskStorage taskStorage) {
+    this.taskStorage = taskStorage;
+    this.writerExecutor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "task-save-writer");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  // ==================== SUBMIT ====================
+
+  /**
+   * Đưa snapshot vào hàng đợi ghi
+   * snapshot phải là bản sao không bị sửa sau đó, snapshotSeq là journal seq tại thời điểm chụp
+   * Nếu đã có snapshot đang chờ thì snapshot mới thay thế nó và dùng chung future
+   */
+  public synchronized CompletableFuture<Boolean> submit(List<Task> snapshot, long snapshotSeq) {
+    if (closed) {
+      // Service đã đóng (đang thoát), ghi trực tiếp trên thread gọi
+      return CompletableFuture.completedFuture(taskStorage.saveTasksToFile(snapshot, snapshotSeq));
+    }
+
+    pendingSnapshot = snapshot;
+    pendingSeq = snapshotSeq;
+
+    if (pendingFuture == null) {
+      pendingFuture = new CompletableFuture<>();
+      writerExecutor.execute(this::writePending);
+    }
+    return pendingFuture;
+  }
+
+  /**
+   * fsync journal trên writer thread (dùng sau khi ghi delta vào journal)
+   * Các yêu cầu chưa chạy được gộp thành một lần fsync
+   */
+  public synchronized CompletableFuture<Boolean> submitJournalSync() {
+    if (closed) {
+      return CompletableFuture.completedFuture(taskStorage.syncJournal());
+    }
+
+    if (pendingSyncFuture == null) {
+      pendingSyncFuture = new CompletableFuture<>();
+      writerExecutor.execute(this::syncPending);
+    }
+    return pendingSyncFuture;
+  }
+
+  private void syncPending() {
+    CompletableFuture<Boolean> future;
+    synchronized (this) {
+      future = pendingSyncFuture;
+      pendingSyncFuture = null;
+    }
+
+    if (future != null) {
+      future.complete(taskStorage.syncJournal());
+    }
+  }
+
+  /**
+   * Ghi snapshot mới nhất đang chờ
+   */
+  private void writePending() {
+    List<Task> snapshot;
+    long snapshotSeq;
+    CompletableFuture<Boolean> future;
+
+    synchronized (this) {
+      snapshot = pendingSnapshot;
+      snapshotSeq = pendingSeq;
+      future = pendingFuture;
+      pendingSnapshot = null;
+      pendingFuture = null;
+    }
+
+    if (future == null) {
+      return;
+    }
+
+    try {
+      future.complete(taskStorage.saveTasksToFile(snapshot, snapshotSeq));
+    } catch (RuntimeException e) {
+      System.err.println("AsyncSaveService: Lỗi khi lưu tasks: " + e.getMessage());
+      future.completeExceptionally(e);
+    }
+  }
+
+  // ==================== LIFECYCLE ====================
+
+  /**
+   * Kiểm tra còn snapshot chờ ghi hay không
+   */
+  public synchronized boolean hasPendingSave() {
+    return pendingFuture != null || pendingSyncFuture != null;
+  }
+
+  /**
+   * Ghi nốt snapshot đang chờ rồi dừng writer thread
+   */
+  public void close() {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+    }
+
+    writerExecutor.shutdown();
+    try {
+      if (!writerExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+        System.err.println("AsyncSaveService: Hết thời gian chờ ghi dữ liệu");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,308 @@
+package com.todoapp.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+import com.todoapp.models.Priority;
+import com.todoapp.models.Status;
+import com.todoapp.models.Task;
+
+/**
+ * Danh sách tasks lưu theo cột (struct-of-arrays) cho danh sách rất lớn
+ * Mỗi thuộc tính là một mảng primitive: id long[], due day int[], priority/status byte[] (ordinal),
+ * pinned là bitmap long[], tên là UTF-8 trong một arena byte[] chung => khoảng 22 byte/task cộng tên
+ * get() trả về view nhẹ (ColumnarTask): giá trị được chụp lúc đọc, tên chỉ decode khi cần
+ * Sửa view không ghi ngược vào danh sách; add/set chép giá trị của Task truyền vào
+ * Chỉ thêm/xóa ở cuối danh sách (đủ cho swap-remove của TaskIdIndex)
+ */
+class ColumnarTaskList extends AbstractList<Task> implements RandomAccess {
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int INITIAL_ARENA_BYTES = 256;
+  private static final int NULL_NAME = -1; // nameLengths của task không có tên
+  private static final int MIN_COMPACT_BYTES = 1 << 16; // Arena nhỏ hơn không đáng compact
+
+  private int size;
+  private long[] ids;
+  private int[] dueDays;
+  private byte[] priorities;
+  private byte[] statuses;
+  private long[] pinned; // Bit i = task tại vị trí i đã pin
+  private int[] nameOffsets;
+  private int[] nameLengths;
+
+  // Byte đã ghi vào arena không bao giờ bị ghi đè (tăng kích thước/compact đều tạo mảng mới)
+  // nên view đã trả ra vẫn đọc được tên sau khi danh sách thay đổi
+  private byte[] arena;
+  private int arenaUsed;
+  private int deadBytes; // Ước lượng byte của các tên đã bị thay hoặc xóa, chỉ dùng để quyết định compact
+
+  ColumnarTaskList() {
+    reset(INITIAL_CAPACITY);
+  }
+
+  private void reset(int capacity) {
+    size = 0;
+    ids = new long[capacity];
+    dueDays = new int[capacity];
+    priorities = new byte[capacity];
+    statuses = new byte[capacity];
+    pinned = new long[(capacity + 63) >>> 6];
+    nameOffsets = new int[capacity];
+    nameLengths = new int[capacity];
+    arena = new byte[INITIAL_ARENA_BYTES];
+    arenaUsed = 0;
+    deadBytes = 0;
+  }
+
+  // ==================== LIST ====================
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Task get(int index) {
+    checkIndex(index);
+    ColumnarTask task = new ColumnarTask(arena, nameOffsets[index], nameLengths[index], dueDays[index],
+        Priority.fromCode(priorities[index]), Status.fromCode(statuses[index]), isPinned(index));
+    task.setId(ids[index]);
+    return task;
+  }
+
+  @Override
+  public Task set(int index, Task task) {
+    Task previous = get(index);
+    write(index, task);
+    return previous;
+  }
+
+  /**
+   * Chỉ hỗ trợ thêm vào cuối danh sách
+   */
+  @Override
+  public void add(int index, Task task) {
+    if (index != size) {
+      throw new UnsupportedOperationException("ColumnarTaskList chỉ thêm vào cuối danh sách");
+    }
+    ensureCapacity(size + 1);
+    nameLengths[size] = NULL_NAME;
+    write(size, task);
+    size++;
+    modCount++;
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends Task> tasks) {
+    ensureCapacity(size + tasks.size());
+    return super.addAll(tasks);
+  }
+
+  /**
+   * Chỉ hỗ trợ xóa phần tử cuối danh sách
+   */
+  @Override
+  public Task remove(int index) {
+    checkIndex(index);
+    if (index != size - 1) {
+      throw new UnsupportedOperationException("ColumnarTaskList chỉ xóa phần tử cuối danh sách");
+    }
+    Task removed = get(index);
+    releaseName(index);
+    setPinned(index, false);
+    size--;
+    modCount++;
+    return removed;
+  }
+
+  @Override
+  public void clear() {
+    reset(INITIAL_CAPACITY);
+    modCount++;
+  }
+
+  // ==================== COLUMNS ====================
+
+  private void write(int index, Task task) {
+    ids[index] = task.getId();
+    dueDays[index] = task.getDueDay();
+    priorities[index] = task.getPriority().getCode();
+    statuses[index] = task.getStatus().getCode();
+    setPinned(index, task.isPinned());
+    writeName(index, task);
+  }
+
+  private void writeName(int index, Task task) {
+    if (task instanceof ColumnarTask) {
+      ColumnarTask view = (ColumnarTask) task;
+      if (view.source == arena && !view.nameChanged) {
+        // View của chính danh sách này, tên chưa bị sửa: dùng lại bytes trong arena
+        if (view.nameOffset != nameOffsets[index] || view.nameLength != nameLengths[index]) {
+          releaseName(index);
+          nameOffsets[index] = view.nameOffset;
+          nameLengths[index] = view.nameLength;
+        }
+        return;
+      }
+    }
+
+    releaseName(index);
+    String name = task.getName();
+    if (name == null) {
+      nameOffsets[index] = 0;
+      nameLengths[index] = NULL_NAME;
+      return;
+    }
+
+    byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+    ensureArena(bytes.length);
+    System.arraycopy(bytes, 0, arena, arenaUsed, bytes.length);
+    nameOffsets[index] = arenaUsed;
+    nameLengths[index] = bytes.length;
+    arenaUsed += bytes.length;
+  }
+
+  private void releaseName(int index) {
+    if (nameLengths[index] > 0) {
+      deadBytes += nameLengths[index];
+    }
+    nameLengths[index] = NULL_NAME;
+  }
+
+  private boolean isPinned(int index) {
+    return (pinned[index >>> 6] & (1L << index)) != 0;
+  }
+
+  private void setPinned(int index, boolean value) {
+    if (value) {
+      pinned[index >>> 6] |= 1L << index;
+    } else {
+      pinned[index >>> 6] &= ~(1L << index);
+    }
+  }
+
+  // ==================== CAPACITY ====================
+
+  private void ensureCapacity(int capacity) {
+    if (capacity <= ids.length) {
+      return;
+    }
+    int newCapacity = Math.max(capacity, ids.length + (ids.length >> 1));
+    ids = Arrays.copyOf(ids, newCapacity);
+    dueDays = Arrays.copyOf(dueDays, newCapacity);
+    priorities = Arrays.copyOf(priorities, newCapacity);
+    statuses = Arrays.copyOf(statuses, newCapacity);
+    pinned = Arrays.copyOf(pinned, (newCapacity + 63) >>> 6);
+    nameOffsets = Arrays.copyOf(nameOffsets, newCapacity);
+    nameLengths = Arrays.copyOf(nameLengths, newCapacity);
+  }
+
+  /**
+   * Bảo đảm arena còn chỗ cho length byte, compact khi phần lớn arena là tên đã chết
+   */
+  private void ensureArena(int length) {
+    if (arenaUsed + length <= arena.length) {
+      return;
+    }
+
+    if (arenaUsed >= MIN_COMPACT_BYTES && deadBytes > arenaUsed - deadBytes) {
+      compactArena(length);
+      if (arenaUsed + length <= arena.length) {
+        return;
+      }
+    }
+
+    long newLength = Math.max((long) arenaUsed + length, arena.length + ((long) arena.length >> 1));
+    if (newLength > Integer.MAX_VALUE - 8) {
+      newLength = (long) arenaUsed + length;
+    }
+    if (newLength > Integer.MAX_VALUE - 8) {
+      throw new OutOfMemoryError("ColumnarTaskList: arena tên vượt quá 2GB");
+    }
+    arena = Arrays.copyOf(arena, (int) newLength);
+  }
+
+  /**
+   * Chép tên của các dòng còn sống sang arena mới (dư chỗ cho extra byte), bỏ bytes của tên đã chết
+   */
+  private void compactArena(int extra) {
+    long liveBytes = 0;
+    for (int i = 0; i < size; i++) {
+      liveBytes += Math.max(nameLengths[i], 0);
+    }
+    long capacity = Math.min(Math.max(liveBytes + extra, liveBytes * 2), Integer.MAX_VALUE - 8);
+
+    byte[] compacted = new byte[(int) Math.max(capacity, INITIAL_ARENA_BYTES)];
+    int used = 0;
+    for (int i = 0; i < size; i++) {
+      int length = nameLengths[i];
+      if (length != NULL_NAME) {
+        System.arraycopy(arena, nameOffsets[i], compacted, used, length);
+        nameOffsets[i] = used;
+        used += length;
+      }
+    }
+    arena = compacted;
+    arenaUsed = used;
+    deadBytes = 0;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+  }
+
+  // ==================== VIEW ====================
+
+  /**
+   * Task đọc từ ColumnarTaskList: giá trị là bản chụp lúc get(), tên decode từ arena ở lần đọc đầu tiên
+   */
+  static final class ColumnarTask extends Task {
+    private static final long serialVersionUID = 1L;
+
+    private final transient byte[] source; // null nếu task không có tên
+    private final transient int nameOffset;
+    private final transient int nameLength;
+    private transient volatile boolean nameLoaded; // Tên đã decode hoặc đã được set
+    private transient boolean nameChanged;
+
+    ColumnarTask(byte[] arena, int nameOffset, int nameLength,
+        int dueDay, Priority priority, Status status, boolean pinned) {
+      super(null, dueDay, priority, status, pinned);
+      this.source = nameLength != NULL_NAME ? arena : null;
+      this.nameOffset = nameOffset;
+      this.nameLength = nameLength;
+    }
+
+    @Override
+    public String getName() {
+      if (!nameLoaded) {
+        if (source != null) {
+          super.setName(new String(source, nameOffset, nameLength, StandardCharsets.UTF_8));
+        }
+        nameLoaded = true;
+      }
+      return super.getName();
+    }
+
+    @Override
+    public void setName(String name) {
+      nameLoaded = true;
+      nameChanged = true;
+      super.setName(name);
+    }
+
+    /**
+     * Serialize như Task thường
+     */
+    private Object writeReplace() {
+      Task task = new Task(getName(), getDueDay(), getPriority(), getStatus(), isPinned());
+      task.setId(getId());
+      return task;
+    }
+  }
+}
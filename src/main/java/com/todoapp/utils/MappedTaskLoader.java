@@ -0,0 +1,447 @@
+package com.todoapp.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.todoapp.models.Priority;
+import com.todoapp.models.Status;
+import com.todoapp.models.Task;
+
+/**
+ * Loader dùng FileChannel.map để đọc data.txt không qua BufferedReader
+ * Quét trực tiếp vùng nhớ map để tìm dấu phân cách, decode ngày/priority/status từ bytes
+ * Tên task được decode ngay khi parse (trong worker của chunk) nên không task nào giữ tham chiếu tới
+ * vùng nhớ map sau khi load xong, data.txt có thể bị thay thế khi lưu
+ * File lớn có thể được chia thành các chunk theo ranh giới dòng và parse song song
+ */
+class MappedTaskLoader {
+  private static final int MIN_CHUNK_BYTES = 1 << 20; // Chunk nhỏ hơn không đáng để chia
+
+  private static final byte SEPARATOR = '|';
+  private static final byte ESCAPE = '\\';
+  private static final byte NEWLINE = '\n';
+  private static final byte[] JOURNAL_SEQ_HEADER = "# Journal-Seq: ".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] TRUE_BYTES = "true".getBytes(StandardCharsets.US_ASCII);
+
+  // Label theo ordinal của enum
+  private static final byte[][] PRIORITY_BYTES = toBytes(Priority.values());
+  private static final byte[][] STATUS_BYTES = toBytes(Status.values());
+
+  /**
+   * Kết quả tải: danh sách tasks và Journal-Seq đọc từ header
+   */
+  static class Result {
+    final List<Task> tasks;
+    final long journalSeq;
+
+    Result(List<Task> tasks, long journalSeq) {
+      this.tasks = tasks;
+      this.journalSeq = journalSeq;
+    }
+  }
+
+  /**
+   * Kết quả parse một vùng bytes (có thể là cả file hoặc một chunk)
+   */
+  static class RangeResult {
+    final List<Task> tasks = new ArrayList<>();
+    final List<String> errors = new ArrayList<>();
+    long journalSeq = -1;
+
+    // Buffer tái sử dụng cho từng dòng
+    private final int[] fieldStart = new int[5];
+    private final int[] fieldEnd = new int[5];
+  }
+
+  // ==================== LOAD ====================
+
+  /**
+   * Map file vào bộ nhớ, trả về null nếu file quá lớn để map một lần (> 2GB)
+   */
+  static MappedByteBuffer map(File file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        return null;
+      }
+      // Mapping vẫn hợp lệ sau khi đóng channel
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+  }
+
+  /**
+   * Tải tasks từ file, trả về null nếu không map được
+   */
+  Result load(File file) throws IOException {
+    MappedByteBuffer buffer = map(file);
+    if (buffer == null) {
+      return null;
+    }
+
+    RangeResult range = parseRange(buffer, 0, buffer.limit(), 1);
+    range.errors.forEach(System.err::println);
+    return new Result(range.tasks, Math.max(range.journalSeq, 0));
+  }
+
+  /**
+   * Tải tasks bằng cách chia file thành các chunk theo ranh giới dòng và parse song song trong pool
+   * Kết quả được ghép lại đúng thứ tự, lỗi được báo với số dòng chính xác
+   */
+  Result loadParallel(File file, ForkJoinPool pool) throws IOException {
+    MappedByteBuffer buffer = map(file);
+    if (buffer == null) {
+      return null;
+    }
+
+    int[] bounds = splitChunks(buffer, pool.getParallelism() * 4);
+    int chunkCount = bounds.length - 1;
+
+    // Bước 1: đếm số dòng từng chunk để biết số dòng bắt đầu của mỗi chunk
+    List<ForkJoinTask<Integer>> lineCounts = new ArrayList<>(chunkCount);
+    for (int i = 0; i < chunkCount; i++) {
+      int start = bounds[i];
+      int end = bounds[i + 1];
+      lineCounts.add(pool.submit(() -> countLines(buffer, start, end)));
+    }
+
+    // Bước 2: parse từng chunk với số dòng tuyệt đối
+    List<ForkJoinTask<RangeResult>> chunks = new ArrayList<>(chunkCount);
+    int firstLineNumber = 1;
+    for (int i = 0; i < chunkCount; i++) {
+      int start = bounds[i];
+      int end = bounds[i + 1];
+      int chunkFirstLine = firstLineNumber;
+      chunks.add(pool.submit(() -> new MappedTaskLoader().parseRange(buffer, start, end, chunkFirstLine)));
+      firstLineNumber += lineCounts.get(i).join();
+    }
+
+    // Ghép kết quả theo thứ tự chunk
+    List<RangeResult> results = new ArrayList<>(chunkCount);
+    int totalTasks = 0;
+    for (ForkJoinTask<RangeResult> chunk : chunks) {
+      RangeResult result = chunk.join();
+      results.add(result);
+      totalTasks += result.tasks.size();
+    }
+
+    List<Task> tasks = new ArrayList<>(totalTasks);
+    long journalSeq = -1;
+    for (RangeResult result : results) {
+      tasks.addAll(result.tasks);
+      result.errors.forEach(System.err::println);
+      if (journalSeq < 0) {
+        journalSeq = result.journalSeq;
+      }
+    }
+
+    return new Result(tasks, Math.max(journalSeq, 0));
+  }
+
+  /**
+   * Chia [0, limit) thành tối đa maxChunks đoạn, mỗi ranh giới nằm ngay sau một '\n'
+   */
+  private static int[] splitChunks(ByteBuffer buffer, int maxChunks) {
+    int size = buffer.limit();
+    int chunkCount = Math.max(1, Math.min(maxChunks, size / MIN_CHUNK_BYTES));
+
+    int[] bounds = new int[chunkCount + 1];
+    int count = 1;
+    for (int i = 1; i < chunkCount; i++) {
+      int nominal = (int) ((long) size * i / chunkCount);
+      int newline = indexOf(buffer, NEWLINE, Math.max(nominal, bounds[count - 1]), size);
+      if (newline < 0) {
+        break;
+      }
+      if (newline + 1 > bounds[count - 1] && newline + 1 < size) {
+        bounds[count++] = newline + 1;
+      }
+    }
+    bounds[count++] = size;
+
+    return Arrays.copyOf(bounds, count);
+  }
+
+  /**
+   * Số dòng trong [start, end), kể cả dòng cuối không có '\n'
+   */
+  private static int countLines(ByteBuffer buffer, int start, int end) {
+    int lines = 0;
+    for (int i = start; i < end; i++) {
+      if (buffer.get(i) == NEWLINE) {
+        lines++;
+      }
+    }
+    if (end > start && buffer.get(end - 1) != NEWLINE) {
+      lines++;
+    }
+    return lines;
+  }
+
+  // ==================== PARSING ====================
+
+  /**
+   * Parse các dòng trong [start, end), dòng đầu tiên có số thứ tự firstLineNumber
+   * start phải nằm ở đầu dòng
+   */
+  RangeResult parseRange(ByteBuffer buffer, int start, int end, int firstLineNumber) {
+    RangeResult result = new RangeResult();
+    int pos = start;
+    int lineNumber = firstLineNumber;
+
+    while (pos < end) {
+      int lineEnd = indexOf(buffer, NEWLINE, pos, end);
+      if (lineEnd < 0) {
+        lineEnd = end;
+      }
+
+      int contentEnd = lineEnd;
+      if (contentEnd > pos && buffer.get(contentEnd - 1) == '\r') {
+        contentEnd--;
+      }
+
+      parseLine(buffer, pos, contentEnd, lineNumber, result);
+
+      pos = lineEnd + 1;
+      lineNumber++;
+    }
+
+    return result;
+  }
+
+  /**
+   * Parse một dòng: TaskName|DueDate|Priority|Status|IsPinned|Id
+   */
+  private void parseLine(ByteBuffer buffer, int start, int end, int lineNumber, RangeResult result) {
+    if (startsWith(buffer, start, end, JOURNAL_SEQ_HEADER)) {
+      result.journalSeq = parseLong(buffer, start + JOURNAL_SEQ_HEADER.length, end);
+      return;
+    }
+
+    if (isCommentOrEmpty(buffer, start, end)) {
+      return;
+    }
+
+    // Tên task: bỏ qua "\|" đã escape
+    boolean escaped = false;
+    int nameEnd = start;
+    while (nameEnd < end) {
+      byte b = buffer.get(nameEnd);
+      if (b == ESCAPE && nameEnd + 1 < end && buffer.get(nameEnd + 1) == SEPARATOR) {
+        escaped = true;
+        nameEnd += 2;
+      } else if (b == SEPARATOR) {
+        break;
+      } else {
+        nameEnd++;
+      }
+    }
+
+    // Các field còn lại: DueDate, Priority, Status, IsPinned, Id
+    int[] fieldStart = result.fieldStart;
+    int[] fieldEnd = result.fieldEnd;
+    int fieldCount = 0;
+    int pos = nameEnd;
+
+    while (pos < end && fieldCount < 5) {
+      int fieldBegin = pos + 1;
+      int next = indexOf(buffer, SEPARATOR, fieldBegin, end);
+      fieldStart[fieldCount] = fieldBegin;
+      fieldEnd[fieldCount] = next < 0 ? end : next;
+      fieldCount++;
+      pos = next < 0 ? end : next;
+    }
+
+    if (fieldCount < 3) {
+      result.errors.add("TaskStorage: Định dạng dòng không hợp lệ tại dòng " + lineNumber + ": "
+          + decode(buffer, start, end));
+      return;
+    }
+
+    int dueDay = parseDate(buffer, fieldStart[0], fieldEnd[0], lineNumber, result);
+    int priorityCode = matchKnown(buffer, fieldStart[1], fieldEnd[1], PRIORITY_BYTES);
+    Priority priority = priorityCode >= 0
+        ? Priority.fromCode(priorityCode)
+        : Priority.parse(decode(buffer, fieldStart[1], fieldEnd[1]));
+    int statusCode = matchKnown(buffer, fieldStart[2], fieldEnd[2], STATUS_BYTES);
+    Status status = statusCode >= 0
+        ? Status.fromCode(statusCode)
+        : Status.parse(decode(buffer, fieldStart[2], fieldEnd[2]));
+    boolean pinned = fieldCount >= 4 && equalsIgnoreCase(buffer, fieldStart[3], fieldEnd[3], TRUE_BYTES);
+
+    String name = decode(buffer, start, nameEnd);
+    Task task = new Task(escaped ? name.replace("\\|", "|") : name, dueDay, priority, status, pinned);
+    if (fieldCount >= 5) {
+      task.setId(parseLong(buffer, fieldStart[4], fieldEnd[4]));
+    }
+    result.tasks.add(task);
+  }
+
+  /**
+   * Decode ngày yyyy-MM-dd trực tiếp từ bytes
+   * Dạng khác được chuyển cho Task.parseDueDay (lenient) như loader cũ
+   */
+  private int parseDate(ByteBuffer buffer, int start, int end, int lineNumber, RangeResult result) {
+    if (start >= end) {
+      return Task.NO_DUE_DATE;
+    }
+
+    if (end - start == 10 && buffer.get(start + 4) == '-' && buffer.get(start + 7) == '-') {
+      int year = parseDigits(buffer, start, start + 4);
+      int month = parseDigits(buffer, start + 5, start + 7);
+      int day = parseDigits(buffer, start + 8, start + 10);
+
+      if (year >= 0 && month >= 0 && day >= 0) {
+        try {
+          return (int) LocalDate.of(year, month, day).toEpochDay();
+        } catch (DateTimeException e) {
+          // Ngày không tồn tại (vd 2025-02-30), để parser lenient xử lý như trước
+        }
+      }
+    }
+
+    String text = decode(buffer, start, end);
+    try {
+      return Task.parseDueDay(text);
+    } catch (DateTimeException e) {
+      result.errors.add("TaskStorage: Định dạng ngày không hợp lệ tại dòng " + lineNumber + ": " + text);
+      return Task.NO_DUE_DATE;
+    }
+  }
+
+  /**
+   * Mã (ordinal) của label khớp đúng bytes, -1 nếu không khớp
+   * Chỉ dạng không chuẩn (khác hoa thường, rỗng...) mới phải decode thành String để parse
+   */
+  private static int matchKnown(ByteBuffer buffer, int start, int end, byte[][] valueBytes) {
+    for (int i = 0; i < valueBytes.length; i++) {
+      if (equals(buffer, start, end, valueBytes[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  // ==================== BYTE UTILITIES ====================
+
+  static int indexOf(ByteBuffer buffer, byte value, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (buffer.get(i) == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean isCommentOrEmpty(ByteBuffer buffer, int start, int end) {
+    for (int i = start; i < end; i++) {
+      int b = buffer.get(i) & 0xFF;
+      if (b > ' ') {
+        return b == '#';
+      }
+    }
+    return true;
+  }
+
+  private static boolean startsWith(ByteBuffer buffer, int start, int end, byte[] prefix) {
+    if (end - start < prefix.length) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length; i++) {
+      if (buffer.get(start + i) != prefix[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean equals(ByteBuffer buffer, int start, int end, byte[] value) {
+    return end - start == value.length && startsWith(buffer, start, end, value);
+  }
+
+  private static boolean equalsIgnoreCase(ByteBuffer buffer, int start, int end, byte[] value) {
+    if (end - start != value.length) {
+      return false;
+    }
+    for (int i = 0; i < value.length; i++) {
+      if (Character.toLowerCase(buffer.get(start + i)) != value[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int parseDigits(ByteBuffer buffer, int start, int end) {
+    int value = 0;
+    for (int i = start; i < end; i++) {
+      int digit = buffer.get(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  /**
+   * Parse như Long.parseLong(text.trim()) của loader đọc từng dòng: bỏ khoảng trắng hai đầu, nhận dấu +/-
+   * Byte không hợp lệ hoặc tràn số trả về Task.NO_ID, để một file tải ra cùng id dù đi đường nào
+   */
+  private static long parseLong(ByteBuffer buffer, int start, int end) {
+    while (start < end && (buffer.get(start) & 0xFF) <= ' ') {
+      start++;
+    }
+    while (end > start && (buffer.get(end - 1) & 0xFF) <= ' ') {
+      end--;
+    }
+
+    boolean negative = false;
+    if (start < end && (buffer.get(start) == '-' || buffer.get(start) == '+')) {
+      negative = buffer.get(start) == '-';
+      start++;
+    }
+    if (start == end) {
+      return Task.NO_ID;
+    }
+
+    long value = 0; // Tích lũy số âm để chứa được Long.MIN_VALUE
+    for (int i = start; i < end; i++) {
+      int digit = buffer.get(i) - '0';
+      if (digit < 0 || digit > 9 || value < (Long.MIN_VALUE + digit) / 10) {
+        return Task.NO_ID;
+      }
+      value = value * 10 - digit;
+    }
+    if (negative) {
+      return value;
+    }
+    return value != Long.MIN_VALUE ? -value : Task.NO_ID;
+  }
+
+  private static String decode(ByteBuffer buffer, int start, int end) {
+    byte[] bytes = new byte[end - start];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = buffer.get(start + i);
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static byte[][] toBytes(Object[] values) {
+    byte[][] result = new byte[values.length][];
+    for (int i = 0; i < values.length; i++) {
+      result[i] = values[i].toString().getBytes(StandardCharsets.UTF_8);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,364 @@
+package com.todoapp.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+import com.todoapp.models.Priority;
+import com.todoapp.models.Status;
+import com.todoapp.models.Task;
+
+/**
+ * Danh sách tasks lưu ngoài heap: mỗi task là một slot cố định 24 byte trong direct ByteBuffer,
+ * tên là UTF-8 trong một string heap (direct ByteBuffer) riêng => GC không phải duyệt dữ liệu task
+ * Slot: Id (long) | DueDay (int) | NameOffset (int) | NameLength (int, -1 nếu null) | Priority | Status | Flags | pad
+ * get() decode slot thành view (OffHeapTask), tên chỉ decode khi cần; tên của các dòng vừa đọc được giữ
+ * trong cache nhỏ trên heap (hot rows) nên vẽ lại bảng không decode lại
+ * Sửa view không ghi ngược vào danh sách; add/set chép giá trị của Task truyền vào
+ * Chỉ thêm/xóa ở cuối danh sách (đủ cho swap-remove của TaskIdIndex)
+ */
+class OffHeapTaskList extends AbstractList<Task> implements RandomAccess {
+  private static final int SLOT_BYTES = 24;
+  private static final int ID = 0;
+  private static final int DUE_DAY = 8;
+  private static final int NAME_OFFSET = 12;
+  private static final int NAME_LENGTH = 16;
+  private static final int PRIORITY = 20;
+  private static final int STATUS = 21;
+  private static final int FLAGS = 22;
+  private static final byte FLAG_PINNED = 0x01;
+
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final int INITIAL_NAME_BYTES = 16 * 1024;
+  private static final int NULL_NAME = -1;
+  private static final int MIN_COMPACT_BYTES = 1 << 20; // String heap nhỏ hơn không đáng compact
+  private static final int HOT_ROWS = 256; // Lũy thừa của 2, đủ cho số dòng hiển thị trên bảng
+
+  private int size;
+  private ByteBuffer slots;
+
+  // Byte đã ghi vào string heap không bao giờ bị ghi đè (tăng kích thước/compact đều tạo buffer mới)
+  // nên view đã trả ra vẫn đọc được tên sau khi danh sách thay đổi
+  private ByteBuffer names;
+  private int namesUsed;
+  private int deadBytes; // Ước lượng byte của các tên đã bị thay hoặc xóa, chỉ dùng để quyết định compact
+
+  // Tên đã decode theo vị trí (direct-mapped), khóa là vị trí bytes trong string heap nên không cần xóa khi
+  // dòng bị ghi; entry bất biến nên view đọc trên thread khác (hoặc đọc optimistic) ghi vào cache vẫn an toàn
+  private final HotName[] hotNames = new HotName[HOT_ROWS];
+
+  OffHeapTaskList() {
+    reset();
+  }
+
+  private void reset() {
+    size = 0;
+    slots = ByteBuffer.allocateDirect(INITIAL_CAPACITY * SLOT_BYTES);
+    names = ByteBuffer.allocateDirect(INITIAL_NAME_BYTES);
+    namesUsed = 0;
+    deadBytes = 0;
+    Arrays.fill(hotNames, null);
+  }
+
+  // ==================== LIST ====================
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Task get(int index) {
+    checkIndex(index);
+    return decode(index);
+  }
+
+  @Override
+  public Task set(int index, Task task) {
+    checkIndex(index);
+    Task previous = decode(index);
+    write(index, task);
+    return previous;
+  }
+
+  /**
+   * Chỉ hỗ trợ thêm vào cuối danh sách
+   */
+  @Override
+  public void add(int index, Task task) {
+    if (index != size) {
+      throw new UnsupportedOperationException("OffHeapTaskList chỉ thêm vào cuối danh sách");
+    }
+    ensureCapacity(size + 1);
+    slots.putInt(size * SLOT_BYTES + NAME_LENGTH, NULL_NAME);
+    write(size, task);
+    size++;
+    modCount++;
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends Task> tasks) {
+    ensureCapacity(size + tasks.size());
+    return super.addAll(tasks);
+  }
+
+  /**
+   * Chỉ hỗ trợ xóa phần tử cuối danh sách
+   */
+  @Override
+  public Task remove(int index) {
+    checkIndex(index);
+    if (index != size - 1) {
+      throw new UnsupportedOperationException("OffHeapTaskList chỉ xóa phần tử cuối danh sách");
+    }
+    Task removed = decode(index);
+    releaseName(index);
+    size--;
+    modCount++;
+    return removed;
+  }
+
+  @Override
+  public void clear() {
+    reset();
+    modCount++;
+  }
+
+  // ==================== SLOTS ====================
+
+  private OffHeapTask decode(int index) {
+    int base = index * SLOT_BYTES;
+    OffHeapTask task = new OffHeapTask(hotNames, index & (HOT_ROWS - 1),
+        names, slots.getInt(base + NAME_OFFSET), slots.getInt(base + NAME_LENGTH),
+        slots.getInt(base + DUE_DAY), Priority.fromCode(slots.get(base + PRIORITY)),
+        Status.fromCode(slots.get(base + STATUS)), (slots.get(base + FLAGS) & FLAG_PINNED) != 0);
+    task.setId(slots.getLong(base + ID));
+    return task;
+  }
+
+  private void write(int index, Task task) {
+    int base = index * SLOT_BYTES;
+    slots.putLong(base + ID, task.getId());
+    slots.putInt(base + DUE_DAY, task.getDueDay());
+    slots.put(base + PRIORITY, task.getPriority().getCode());
+    slots.put(base + STATUS, task.getStatus().getCode());
+    slots.put(base + FLAGS, task.isPinned() ? FLAG_PINNED : 0);
+    writeName(index, task);
+  }
+
+  private void writeName(int index, Task task) {
+    int base = index * SLOT_BYTES;
+    if (task instanceof OffHeapTask) {
+      OffHeapTask view = (OffHeapTask) task;
+      if (view.source == names && !view.nameChanged) {
+        // View của chính danh sách này, tên chưa bị sửa: dùng lại bytes trong string heap
+        if (view.nameOffset != slots.getInt(base + NAME_OFFSET) || view.nameLength != slots.getInt(base + NAME_LENGTH)) {
+          releaseName(index);
+          slots.putInt(base + NAME_OFFSET, view.nameOffset);
+          slots.putInt(base + NAME_LENGTH, view.nameLength);
+        }
+        return;
+      }
+    }
+
+    releaseName(index);
+    String name = task.getName();
+    if (name == null) {
+      slots.putInt(base + NAME_OFFSET, 0);
+      slots.putInt(base + NAME_LENGTH, NULL_NAME);
+      return;
+    }
+
+    byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+    ensureNames(bytes.length);
+    ByteBuffer target = names.duplicate();
+    target.position(namesUsed);
+    target.put(bytes);
+    slots.putInt(base + NAME_OFFSET, namesUsed);
+    slots.putInt(base + NAME_LENGTH, bytes.length);
+    namesUsed += bytes.length;
+  }
+
+  private void releaseName(int index) {
+    int base = index * SLOT_BYTES;
+    int length = slots.getInt(base + NAME_LENGTH);
+    if (length > 0) {
+      deadBytes += length;
+    }
+    slots.putInt(base + NAME_LENGTH, NULL_NAME);
+  }
+
+  // ==================== CAPACITY ====================
+
+  private void ensureCapacity(int capacity) {
+    int currentCapacity = slots.capacity() / SLOT_BYTES;
+    if (capacity <= currentCapacity) {
+      return;
+    }
+    long newCapacity = Math.max(capacity, currentCapacity + (currentCapacity >> 1));
+    if (newCapacity * SLOT_BYTES > Integer.MAX_VALUE - 8) {
+      newCapacity = capacity;
+    }
+    if (newCapacity * SLOT_BYTES > Integer.MAX_VALUE - 8) {
+      throw new OutOfMemoryError("OffHeapTaskList: vượt quá số task tối đa của một buffer");
+    }
+
+    ByteBuffer grown = ByteBuffer.allocateDirect((int) newCapacity * SLOT_BYTES);
+    ByteBuffer source = slots.duplicate();
+    source.position(0).limit(size * SLOT_BYTES);
+    grown.put(source);
+    grown.clear();
+    slots = grown;
+  }
+
+  /**
+   * Bảo đảm string heap còn chỗ cho length byte, compact khi phần lớn là tên đã chết
+   */
+  private void ensureNames(int length) {
+    if (namesUsed + length <= names.capacity()) {
+      return;
+    }
+
+    if (namesUsed >= MIN_COMPACT_BYTES && deadBytes > namesUsed - deadBytes) {
+      compactNames(length);
+      if (namesUsed + length <= names.capacity()) {
+        return;
+      }
+    }
+
+    long newLength = Math.max((long) namesUsed + length, names.capacity() + ((long) names.capacity() >> 1));
+    if (newLength > Integer.MAX_VALUE - 8) {
+      newLength = (long) namesUsed + length;
+    }
+    if (newLength > Integer.MAX_VALUE - 8) {
+      throw new OutOfMemoryError("OffHeapTaskList: string heap vượt quá 2GB");
+    }
+
+    ByteBuffer grown = ByteBuffer.allocateDirect((int) newLength);
+    ByteBuffer source = names.duplicate();
+    source.position(0).limit(namesUsed);
+    grown.put(source);
+    grown.clear();
+    names = grown;
+    Arrays.fill(hotNames, null); // Không giữ buffer cũ sống chỉ vì cache
+  }
+
+  /**
+   * Chép tên của các dòng còn sống sang buffer mới (dư chỗ cho extra byte), bỏ bytes của tên đã chết
+   */
+  private void compactNames(int extra) {
+    long liveBytes = 0;
+    for (int i = 0; i < size; i++) {
+      liveBytes += Math.max(slots.getInt(i * SLOT_BYTES + NAME_LENGTH), 0);
+    }
+    long capacity = Math.min(Math.max(liveBytes + extra, liveBytes * 2), Integer.MAX_VALUE - 8);
+
+    ByteBuffer compacted = ByteBuffer.allocateDirect((int) Math.max(capacity, INITIAL_NAME_BYTES));
+    ByteBuffer source = names.duplicate();
+    for (int i = 0; i < size; i++) {
+      int base = i * SLOT_BYTES;
+      int length = slots.getInt(base + NAME_LENGTH);
+      if (length != NULL_NAME) {
+        int offset = slots.getInt(base + NAME_OFFSET);
+        source.limit(offset + length).position(offset);
+        slots.putInt(base + NAME_OFFSET, compacted.position());
+        compacted.put(source);
+        source.limit(source.capacity());
+      }
+    }
+    namesUsed = compacted.position();
+    compacted.clear();
+    names = compacted;
+    deadBytes = 0;
+    Arrays.fill(hotNames, null);
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+  }
+
+  // ==================== VIEW ====================
+
+  /**
+   * Task đọc từ OffHeapTaskList: giá trị là bản chụp lúc decode slot, tên decode từ string heap ở lần đọc đầu tiên
+   */
+  static final class OffHeapTask extends Task {
+    private static final long serialVersionUID = 1L;
+
+    private final transient HotName[] hotNames;
+    private final transient int hotSlot;
+    private final transient ByteBuffer source; // null nếu task không có tên
+    private final transient int nameOffset;
+    private final transient int nameLength;
+    private transient volatile boolean nameLoaded; // Tên đã decode hoặc đã được set
+    private transient boolean nameChanged;
+
+    OffHeapTask(HotName[] hotNames, int hotSlot, ByteBuffer names, int nameOffset, int nameLength,
+        int dueDay, Priority priority, Status status, boolean pinned) {
+      super(null, dueDay, priority, status, pinned);
+      this.hotNames = hotNames;
+      this.hotSlot = hotSlot;
+      this.source = nameLength != NULL_NAME ? names : null;
+      this.nameOffset = nameOffset;
+      this.nameLength = nameLength;
+    }
+
+    @Override
+    public String getName() {
+      if (!nameLoaded) {
+        if (source != null) {
+          HotName hot = hotNames[hotSlot];
+          if (hot == null || hot.source != source || hot.offset != nameOffset || hot.length != nameLength) {
+            byte[] bytes = new byte[nameLength];
+            ByteBuffer buffer = source.duplicate();
+            buffer.position(nameOffset);
+            buffer.get(bytes);
+            hot = new HotName(source, nameOffset, nameLength, new String(bytes, StandardCharsets.UTF_8));
+            hotNames[hotSlot] = hot;
+          }
+          super.setName(hot.name);
+        }
+        nameLoaded = true;
+      }
+      return super.getName();
+    }
+
+    @Override
+    public void setName(String name) {
+      nameLoaded = true;
+      nameChanged = true;
+      super.setName(name);
+    }
+
+    /**
+     * Serialize như Task thường
+     */
+    private Object writeReplace() {
+      Task task = new Task(getName(), getDueDay(), getPriority(), getStatus(), isPinned());
+      task.setId(getId());
+      return task;
+    }
+  }
+
+  /**
+   * Tên đã decode cùng vị trí bytes của nó trong string heap
+   */
+  private static final class HotName {
+    final ByteBuffer source;
+    final int offset;
+    final int length;
+    final String name;
+
+    HotName(ByteBuffer source, int offset, int length, String name) {
+      this.source = source;
+      this.offset = offset;
+      this.length = length;
+      this.name = name;
+    }
+  }
+}
@@ -0,0 +1,234 @@
+package com.todoapp.utils;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Tập long giữ thứ tự thêm vào, không boxing (thay cho LinkedHashSet<Integer>)
+ * Hash table open addressing: contains/add/remove/orderOf đều O(1)
+ * orderOf trả về số thứ tự lúc thêm, tăng dần theo thời gian nên so sánh được vị trí giữa hai phần tử
+ */
+public class OrderedLongSet {
+  private static final byte EMPTY = 0;
+  private static final byte FULL = 1;
+  private static final byte REMOVED = 2;
+  private static final int MIN_CAPACITY = 16;
+
+  // Hash table: giá trị -> số thứ tự thêm vào
+  private long[] keys;
+  private long[] orders;
+  private byte[] states;
+  private int size;
+  private int usedSlots; // FULL + REMOVED
+
+  // Log theo thứ tự thêm vào, dùng khi duyệt; entry đã bị xóa được bỏ qua và dọn dần
+  private long[] logKeys;
+  private long[] logOrders;
+  private int logSize;
+
+  private long nextOrder;
+
+  public OrderedLongSet() {
+    allocate(MIN_CAPACITY);
+    logKeys = new long[MIN_CAPACITY];
+    logOrders = new long[MIN_CAPACITY];
+  }
+
+  // ==================== OPERATIONS ====================
+
+  /**
+   * Thêm giá trị vào cuối, trả về false nếu đã có (giữ nguyên vị trí cũ)
+   */
+  public boolean add(long value) {
+    int slot = findSlot(value);
+    if (slot >= 0) {
+      return false;
+    }
+
+    if ((usedSlots + 1) * 2 > keys.length) {
+      rehash(size + 1 > keys.length / 4 ? keys.length * 2 : keys.length);
+    }
+
+    long order = nextOrder++;
+    insert(value, order);
+    appendLog(value, order);
+    return true;
+  }
+
+  /**
+   * Xóa giá trị, trả về false nếu không có
+   */
+  public boolean remove(long value) {
+    int slot = findSlot(value);
+    if (slot < 0) {
+      return false;
+    }
+
+    states[slot] = REMOVED;
+    size--;
+
+    if (logSize > MIN_CAPACITY && logSize > size * 2) {
+      compactLog();
+    }
+    return true;
+  }
+
+  public boolean contains(long value) {
+    return findSlot(value) >= 0;
+  }
+
+  /**
+   * Số thứ tự lúc thêm của giá trị (nhỏ hơn = thêm trước), -1 nếu không có
+   */
+  public long orderOf(long value) {
+    int slot = findSlot(value);
+    return slot >= 0 ? orders[slot] : -1;
+  }
+
+  public void clear() {
+    Arrays.fill(states, EMPTY);
+    size = 0;
+    usedSlots = 0;
+    logSize = 0;
+  }
+
+  /**
+   * Thay nội dung bằng các giá trị của set khác (giữ thứ tự)
+   */
+  public void copyFrom(OrderedLongSet other) {
+    if (other == this) {
+      return;
+    }
+    clear();
+    other.forEach(this::add);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  // ==================== ITERATION ====================
+
+  /**
+   * Duyệt các giá trị theo thứ tự thêm vào
+   */
+  public void forEach(LongConsumer action) {
+    for (int i = 0; i < logSize; i++) {
+      if (isLive(i)) {
+        action.accept(logKeys[i]);
+      }
+    }
+  }
+
+  /**
+   * Các giá trị theo thứ tự thêm vào
+   */
+  public long[] toArray() {
+    long[] result = new long[size];
+    int count = 0;
+    for (int i = 0; i < logSize; i++) {
+      if (isLive(i)) {
+        result[count++] = logKeys[i];
+      }
+    }
+    return result;
+  }
+
+  // ==================== HASH TABLE ====================
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    orders = new long[capacity];
+    states = new byte[capacity];
+  }
+
+  /**
+   * Vị trí của value trong bảng, -1 nếu không có
+   */
+  private int findSlot(long value) {
+    int mask = keys.length - 1;
+    int slot = hash(value) & mask;
+    while (states[slot] != EMPTY) {
+      if (states[slot] == FULL && keys[slot] == value) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private void insert(long value, long order) {
+    int mask = keys.length - 1;
+    int slot = hash(value) & mask;
+    while (states[slot] == FULL) {
+      slot = (slot + 1) & mask;
+    }
+    if (states[slot] == EMPTY) {
+      usedSlots++;
+    }
+    keys[slot] = value;
+    orders[slot] = order;
+    states[slot] = FULL;
+    size++;
+  }
+
+  private void rehash(int capacity) {
+    long[] oldKeys = keys;
+    long[] oldOrders = orders;
+    byte[] oldStates = states;
+
+    size = 0;
+    allocate(capacity);
+    usedSlots = 0;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldStates[i] == FULL) {
+        insert(oldKeys[i], oldOrders[i]);
+      }
+    }
+  }
+
+  private static int hash(long value) {
+    long h = value * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  // ==================== INSERTION LOG ====================
+
+  private void appendLog(long value, long order) {
+    if (logSize == logKeys.length) {
+      if (logSize > size * 2) {
+        compactLog();
+      }
+      if (logSize == logKeys.length) {
+        logKeys = Arrays.copyOf(logKeys, logSize * 2);
+        logOrders = Arrays.copyOf(logOrders, logSize * 2);
+      }
+    }
+    logKeys[logSize] = value;
+    logOrders[logSize] = order;
+    logSize++;
+  }
+
+  /**
+   * Entry trong log còn hiệu lực (giá trị chưa bị xóa và không được thêm lại sau đó)
+   */
+  private boolean isLive(int logIndex) {
+    return orderOf(logKeys[logIndex]) == logOrders[logIndex];
+  }
+
+  private void compactLog() {
+    int count = 0;
+    for (int i = 0; i < logSize; i++) {
+      if (isLive(i)) {
+        logKeys[count] = logKeys[i];
+        logOrders[count] = logOrders[i];
+        count++;
+      }
+    }
+    logSize = count;
+  }
+}
@@ -0,0 +1,262 @@
+package com.todoapp.utils;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+import com.todoapp.models.Task;
+
+/**
+ * Danh sách tasks dạng persistent vector (cây 32 nhánh + tail), chụp snapshot bất biến trong O(1)
+ * Node chỉ được sửa tại chỗ khi thuộc lần sửa hiện tại (owner); snapshot() đổi owner nên lần ghi sau
+ * chép đường đi từ gốc tới lá (O(log32 n)) và snapshot cũ vẫn dùng chung phần còn lại của cây
+ * Giữa hai snapshot các thay đổi sửa tại chỗ, nên nạp lại cả danh sách nhanh như ArrayList
+ * Chỉ thêm/xóa ở cuối danh sách (đủ cho swap-remove của TaskIdIndex)
+ */
+class PersistentTaskList extends AbstractList<Task> implements RandomAccess {
+  static final int BITS = 5;
+  static final int WIDTH = 1 << BITS;
+  static final int MASK = WIDTH - 1;
+
+  private Object owner = new Object(); // Token của lần sửa hiện tại
+  private int size;
+  private int shift;
+  private Node root;
+  private Object[] tail; // Lá cuối chưa đưa vào cây
+  private boolean tailShared; // tail đang được snapshot dùng, phải chép trước khi ghi
+
+  PersistentTaskList() {
+    reset();
+  }
+
+  private void reset() {
+    size = 0;
+    shift = BITS;
+    root = new Node(owner, new Object[WIDTH]);
+    tail = new Object[WIDTH];
+    tailShared = false;
+  }
+
+  // ==================== SNAPSHOT ====================
+
+  /**
+   * Ảnh chụp bất biến của danh sách hiện tại, không chép dữ liệu
+   */
+  TaskSnapshot snapshot(long version) {
+    owner = new Object();
+    tailShared = true;
+    return new TaskSnapshot(version, size, shift, root, tail);
+  }
+
+  // ==================== LIST ====================
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Task get(int index) {
+    checkIndex(index);
+    return (Task) leafFor(root, shift, tail, size, index)[index & MASK];
+  }
+
+  @Override
+  public Task set(int index, Task task) {
+    checkIndex(index);
+    if (index >= tailOffset(size)) {
+      Object[] leaf = editableTail();
+      Task previous = (Task) leaf[index & MASK];
+      leaf[index & MASK] = task;
+      return previous;
+    }
+
+    Task previous = get(index);
+    root = set(shift, root, index, task);
+    return previous;
+  }
+
+  private Node set(int level, Node node, int index, Task task) {
+    Node editable = editable(node);
+    int slot = (index >>> level) & MASK;
+    if (level == 0) {
+      editable.array[slot] = task;
+    } else {
+      editable.array[slot] = set(level - BITS, (Node) node.array[slot], index, task);
+    }
+    return editable;
+  }
+
+  /**
+   * Chỉ hỗ trợ thêm vào cuối danh sách
+   */
+  @Override
+  public void add(int index, Task task) {
+    if (index != size) {
+      throw new UnsupportedOperationException("PersistentTaskList chỉ thêm vào cuối danh sách");
+    }
+
+    if (size - tailOffset(size) < WIDTH) {
+      editableTail()[size & MASK] = task;
+    } else {
+      // Tail đầy: đưa vào cây rồi mở tail mới
+      Node tailNode = new Node(tailShared ? new Object() : owner, tail);
+      if ((size >>> BITS) > (1 << shift)) {
+        Node newRoot = new Node(owner, new Object[WIDTH]);
+        newRoot.array[0] = root;
+        newRoot.array[1] = newPath(shift, tailNode);
+        root = newRoot;
+        shift += BITS;
+      } else {
+        root = pushTail(shift, root, tailNode);
+      }
+      tail = new Object[WIDTH];
+      tailShared = false;
+      tail[0] = task;
+    }
+    size++;
+    modCount++;
+  }
+
+  private Node pushTail(int level, Node parent, Node tailNode) {
+    Node editable = editable(parent);
+    int slot = ((size - 1) >>> level) & MASK;
+    if (level == BITS) {
+      editable.array[slot] = tailNode;
+    } else {
+      Node child = (Node) parent.array[slot];
+      editable.array[slot] = child != null
+          ? pushTail(level - BITS, child, tailNode)
+          : newPath(level - BITS, tailNode);
+    }
+    return editable;
+  }
+
+  private Node newPath(int level, Node node) {
+    if (level == 0) {
+      return node;
+    }
+    Node path = new Node(owner, new Object[WIDTH]);
+    path.array[0] = newPath(level - BITS, node);
+    return path;
+  }
+
+  /**
+   * Chỉ hỗ trợ xóa phần tử cuối danh sách
+   */
+  @Override
+  public Task remove(int index) {
+    checkIndex(index);
+    if (index != size - 1) {
+      throw new UnsupportedOperationException("PersistentTaskList chỉ xóa phần tử cuối danh sách");
+    }
+    Task removed = get(index);
+
+    if (size == 1) {
+      reset();
+    } else if (size - tailOffset(size) > 1) {
+      editableTail()[index & MASK] = null;
+      size--;
+    } else {
+      // Tail chỉ còn phần tử cuối: lá cuối của cây trở thành tail
+      Node leaf = leafNodeFor(size - 2);
+      Node newRoot = popTail(shift, root);
+      if (newRoot == null) {
+        newRoot = new Node(owner, new Object[WIDTH]);
+      }
+      if (shift > BITS && newRoot.array[1] == null) {
+        newRoot = (Node) newRoot.array[0];
+        shift -= BITS;
+      }
+      root = newRoot;
+      tail = leaf.array;
+      tailShared = leaf.owner != owner;
+      size--;
+    }
+    modCount++;
+    return removed;
+  }
+
+  private Node popTail(int level, Node node) {
+    int slot = ((size - 2) >>> level) & MASK;
+    if (level > BITS) {
+      Node child = popTail(level - BITS, (Node) node.array[slot]);
+      if (child == null && slot == 0) {
+        return null;
+      }
+      Node editable = editable(node);
+      editable.array[slot] = child;
+      return editable;
+    }
+    if (slot == 0) {
+      return null;
+    }
+    Node editable = editable(node);
+    editable.array[slot] = null;
+    return editable;
+  }
+
+  @Override
+  public void clear() {
+    reset();
+    modCount++;
+  }
+
+  // ==================== NODES ====================
+
+  private Node editable(Node node) {
+    return node.owner == owner ? node : new Node(owner, node.array.clone());
+  }
+
+  private Object[] editableTail() {
+    if (tailShared) {
+      tail = tail.clone();
+      tailShared = false;
+    }
+    return tail;
+  }
+
+  private Node leafNodeFor(int index) {
+    Node node = root;
+    for (int level = shift; level > 0; level -= BITS) {
+      node = (Node) node.array[(index >>> level) & MASK];
+    }
+    return node;
+  }
+
+  static int tailOffset(int size) {
+    return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+  }
+
+  /**
+   * Mảng lá chứa index (dùng chung cho danh sách và snapshot)
+   */
+  static Object[] leafFor(Node root, int shift, Object[] tail, int size, int index) {
+    if (index >= tailOffset(size)) {
+      return tail;
+    }
+    Node node = root;
+    for (int level = shift; level > 0; level -= BITS) {
+      node = (Node) node.array[(index >>> level) & MASK];
+    }
+    return node.array;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+  }
+
+  /**
+   * Node của cây: mảng 32 phần tử (node con hoặc Task ở lá)
+   */
+  static final class Node {
+    final Object owner; // Lần sửa đã tạo node, chỉ lần sửa đó được ghi vào array
+    final Object[] array;
+
+    Node(Object owner, Object[] array) {
+      this.owner = owner;
+      this.array = array;
+    }
+  }
+}
@@ -1,32 +1,73 @@
 package com.todoapp.utils;
 
 import com.todoapp.components.TaskTable;
+import com.todoapp.components.TaskTableModel;
+import com.todoapp.models.Task;
 import javax.swing.*;
 import javax.swing.table.*;
+import java.text.CollationKey;
+import java.text.Collator;
 import java.util.*;
 
 /**
- * Custom TableRowSorter với khả năng giữ các pinned tasks ở đầu danh sách
+ * Custom RowSorter với khả năng giữ các pinned tasks ở đầu danh sách
  * Hỗ trợ sắp xếp đặc biệt cho Priority (High-Medium-Low) và Status
+ * Khóa sắp xếp của mỗi task được tính một lần (thứ tự pin, mã priority/status, epoch-day, tên đã collate),
+ * khi sắp xếp chỉ so sánh các khóa này trên mảng hoán vị int
+ * Thêm/sửa/xóa/pin một dòng chỉ binary search vị trí mới, sắp xếp toàn bộ khi đổi sort key hoặc filter
  */
-public class PinnedRowSorter extends TableRowSorter<TableModel> {
+public class PinnedRowSorter extends RowSorter<TableModel> {
+    private static final int NAME_COLUMN = 0;
+    private static final int DUE_DATE_COLUMN = 1;
+    private static final int PRIORITY_COLUMN = 2;
+    private static final int STATUS_COLUMN = 3;
+
+    private static final long NOT_PINNED = Long.MAX_VALUE;
+    private static final long NO_DUE_DATE = Long.MAX_VALUE; // Ngày rỗng xếp cuối
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final TaskTableModel model;
     private final TaskTable taskTable;
-    private final LinkedHashSet<Integer> pinnedTaskRows;
+    private final OrderedLongSet pinnedTaskIds;
+    private final Collator collator = Collator.getInstance();
 
-    // Constants for sorting order
-    private static final Map<String, Integer> PRIORITY_ORDER = Map.of(
-            "High", 0, "Medium", 1, "Low", 2);
+    private List<SortKey> sortKeys = Collections.emptyList();
+    // Cột và chiều của các sort key (bỏ UNSORTED), tránh duyệt List khi so sánh
+    private int[] keyColumns = new int[0];
+    private boolean[] keyAscending = new boolean[0];
+    private RowFilter<? super TableModel, ? super Integer> rowFilter;
+    private boolean[] precomputedMatches; // Kết quả filter tính sẵn, chỉ dùng trong lần lọc đang chạy
+    private final FilterEntry filterEntry = new FilterEntry();
 
-    private static final Map<String, Integer> STATUS_ORDER = Map.of(
-            "In Progress", 0, "Pending", 1, "Completed", 2);
+    // Khóa sắp xếp theo model row
+    private int modelRowCount;
+    private long[] pinRanks = new long[0];
+    private CollationKey[] nameKeys = new CollationKey[0];
+    private int[] nameRanks = new int[0]; // Thứ hạng tên, tính lại khi cần sắp theo tên
+    private boolean nameRanksValid;
+    private long[] dueDays = new long[0];
+    private byte[] priorityCodes = new byte[0]; // Ordinal của Priority/Status (High, In Progress xếp trước)
+    private byte[] statusCodes = new byte[0];
 
-    public PinnedRowSorter(TableModel model, TaskTable taskTable, LinkedHashSet<Integer> pinnedTaskRows) {
-        super(model);
+    // view -> model (chỉ gồm các dòng qua filter) và model -> view (-1 nếu bị lọc)
+    private int[] viewToModel = new int[0];
+    private int[] modelToView = new int[0];
+
+    public PinnedRowSorter(TaskTableModel model, TaskTable taskTable, OrderedLongSet pinnedTaskIds) {
+        this.model = model;
         this.taskTable = taskTable;
-        this.pinnedTaskRows = pinnedTaskRows;
+        this.pinnedTaskIds = pinnedTaskIds;
 
         // Sắp xếp mặc định theo tên task (cột 0) tăng dần
-        setSortKeys(Arrays.asList(new RowSorter.SortKey(0, SortOrder.ASCENDING)));
+        setActiveSortKeys(Collections.singletonList(new SortKey(NAME_COLUMN, SortOrder.ASCENDING)));
+        allRowsChanged();
+    }
+
+    // ==================== SORT KEYS ====================
+
+    @Override
+    public TableModel getModel() {
+        return model;
     }
 
     @Override
@@ -53,134 +94,568 @@ public class PinnedRowSorter extends TableRowSorter<TableModel> {
     }
 
     @Override
-    public Comparator<?> getComparator(int column) {
-        final Comparator<?> defaultComparator = super.getComparator(column);
-
-        return new Comparator<Object>() {
-            @SuppressWarnings("unchecked")
-            @Override
-            public int compare(Object o1, Object o2) {
-                int row1 = findModelRowForValue(column, o1);
-                int row2 = findModelRowForValue(column, o2);
-
-                // Xử lý pinned tasks - luôn ở đầu
-                boolean pin1 = pinnedTaskRows.contains(row1);
-                boolean pin2 = pinnedTaskRows.contains(row2);
-
-                if (pin1 && !pin2)
-                    return -1;
-                if (!pin1 && pin2)
-                    return 1;
-
-                // Cả hai đều pinned - giữ thứ tự trong LinkedHashSet
-                if (pin1 && pin2) {
-                    return Integer.compare(getPinnedPosition(row1), getPinnedPosition(row2));
-                }
+    public void setSortKeys(List<? extends SortKey> keys) {
+        List<SortKey> newKeys = keys == null ? Collections.emptyList()
+                : Collections.unmodifiableList(new ArrayList<>(keys));
+        for (SortKey key : newKeys) {
+            if (key == null || key.getColumn() < 0 || key.getColumn() >= model.getColumnCount()) {
+                throw new IllegalArgumentException("Invalid SortKey");
+            }
+        }
 
-                // Sắp xếp theo loại cột
-                return compareByColumnType(column, o1, o2, defaultComparator);
+        if (!newKeys.equals(sortKeys)) {
+            setActiveSortKeys(newKeys);
+            fireSortOrderChanged();
+            sort();
+        }
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    private void setActiveSortKeys(List<SortKey> keys) {
+        sortKeys = keys;
+
+        int count = 0;
+        for (SortKey key : keys) {
+            if (key.getSortOrder() != SortOrder.UNSORTED) {
+                count++;
             }
-        };
+        }
+        keyColumns = new int[count];
+        keyAscending = new boolean[count];
+        int i = 0;
+        for (SortKey key : keys) {
+            if (key.getSortOrder() != SortOrder.UNSORTED) {
+                keyColumns[i] = key.getColumn();
+                keyAscending[i] = key.getSortOrder() == SortOrder.ASCENDING;
+                i++;
+            }
+        }
     }
 
     /**
-     * So sánh theo loại cột cụ thể
+     * Lọc các dòng hiển thị, null để hiện tất cả
      */
-    @SuppressWarnings("unchecked")
-    private int compareByColumnType(int column, Object o1, Object o2, Comparator<?> defaultComparator) {
-        switch (column) {
-            case 1: // Due Date
-                return compareDates(o1.toString(), o2.toString());
-            case 2: // Priority
-                return Integer.compare(
-                        PRIORITY_ORDER.getOrDefault(o1.toString(), 999),
-                        PRIORITY_ORDER.getOrDefault(o2.toString(), 999));
-            case 3: // Status
-                return Integer.compare(
-                        STATUS_ORDER.getOrDefault(o1.toString(), 999),
-                        STATUS_ORDER.getOrDefault(o2.toString(), 999));
-            default: // Task Name và các cột khác
-                return ((Comparator<Object>) defaultComparator).compare(o1, o2);
+    public void setRowFilter(RowFilter<? super TableModel, ? super Integer> filter) {
+        setRowFilter(filter, null);
+    }
+
+    /**
+     * Lọc với kết quả đã tính sẵn cho từng model row (ví dụ trên worker thread)
+     * modelRowMatches chỉ dùng cho lần lọc này, các dòng thay đổi sau đó được đánh giá lại bằng filter
+     */
+    public void setRowFilter(RowFilter<? super TableModel, ? super Integer> filter, boolean[] modelRowMatches) {
+        this.rowFilter = filter;
+        this.precomputedMatches = modelRowMatches != null && modelRowMatches.length == modelRowCount
+                ? modelRowMatches : null;
+        try {
+            sort();
+        } finally {
+            precomputedMatches = null;
+        }
+    }
+
+    public RowFilter<? super TableModel, ? super Integer> getRowFilter() {
+        return rowFilter;
+    }
+
+    // ==================== INDEX CONVERSION ====================
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        if (index < 0 || index >= viewToModel.length) {
+            throw new IndexOutOfBoundsException("Invalid index");
+        }
+        return viewToModel[index];
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        if (index < 0 || index >= modelRowCount) {
+            throw new IndexOutOfBoundsException("Invalid index");
+        }
+        return modelToView[index];
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return viewToModel.length;
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return model.getRowCount();
+    }
+
+    // ==================== MODEL EVENTS ====================
+
+    @Override
+    public void modelStructureChanged() {
+        allRowsChanged();
+    }
+
+    @Override
+    public void allRowsChanged() {
+        modelRowCount = model.getRowCount();
+        pinRanks = new long[modelRowCount];
+        nameKeys = new CollationKey[modelRowCount];
+        dueDays = new long[modelRowCount];
+        priorityCodes = new byte[modelRowCount];
+        statusCodes = new byte[modelRowCount];
+        nameRanks = new int[modelRowCount];
+        for (int row = 0; row < modelRowCount; row++) {
+            updateKeys(row);
+        }
+        sort();
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+        int count = endRow - firstRow + 1;
+        if (firstRow < 0 || firstRow > modelRowCount || count <= 0 || model.getRowCount() != modelRowCount + count) {
+            allRowsChanged();
+            return;
+        }
+
+        // Dời khóa của các dòng phía sau rồi tính khóa cho dòng mới
+        int newCount = modelRowCount + count;
+        pinRanks = insertGap(pinRanks, firstRow, count, newCount);
+        nameKeys = insertGap(nameKeys, firstRow, count, newCount);
+        dueDays = insertGap(dueDays, firstRow, count, newCount);
+        priorityCodes = insertGap(priorityCodes, firstRow, count, newCount);
+        statusCodes = insertGap(statusCodes, firstRow, count, newCount);
+        nameRanks = insertGap(nameRanks, firstRow, count, newCount);
+        modelRowCount = newCount;
+        for (int row = firstRow; row <= endRow; row++) {
+            updateKeys(row);
+        }
+
+        if (count == 1) {
+            insertIntoView(firstRow);
+        } else {
+            sort();
         }
     }
 
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+        int count = endRow - firstRow + 1;
+        if (firstRow < 0 || endRow >= modelRowCount || count <= 0 || model.getRowCount() != modelRowCount - count) {
+            allRowsChanged();
+            return;
+        }
+
+        int[] oldViewToModel = viewToModel;
+        int[] rows = count == 1 ? removeFromView(firstRow) : null;
+
+        removeRange(pinRanks, firstRow, count);
+        removeRange(nameKeys, firstRow, count);
+        removeRange(dueDays, firstRow, count);
+        removeRange(priorityCodes, firstRow, count);
+        removeRange(statusCodes, firstRow, count);
+        removeRange(nameRanks, firstRow, count);
+        modelRowCount -= count;
+        Arrays.fill(nameKeys, modelRowCount, modelRowCount + count, null);
+
+        if (rows != null) {
+            setViewToModel(rows, oldViewToModel);
+        } else {
+            sort();
+        }
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+        if (firstRow < 0 || endRow >= modelRowCount || model.getRowCount() != modelRowCount) {
+            allRowsChanged();
+            return;
+        }
+
+        for (int row = firstRow; row <= endRow; row++) {
+            updateKeys(row);
+        }
+
+        if (firstRow == endRow) {
+            repositionRow(firstRow);
+        } else {
+            sort();
+        }
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+        rowsUpdated(firstRow, endRow);
+    }
+
+    // ==================== SORTING ====================
+
     /**
-     * So sánh ngày tháng định dạng YYYY-MM-DD
+     * Áp dụng sắp xếp với pinned tasks ở đầu
      */
-    private int compareDates(String date1, String date2) {
-        // Xử lý chuỗi rỗng
-        if (date1.isEmpty() && date2.isEmpty())
-            return 0;
-        if (date1.isEmpty())
-            return 1; // Ngày rỗng xếp cuối
-        if (date2.isEmpty())
-            return -1;
+    public void applySorting() {
+        if (getSortKeys().isEmpty()) {
+            setSortKeys(Arrays.asList(new RowSorter.SortKey(NAME_COLUMN, SortOrder.ASCENDING)));
+        }
+        refreshPinRanks();
+        sort();
+    }
 
-        try {
-            // Kiểm tra định dạng ngày hợp lệ và so sánh
-            if (isValidDateFormat(date1) && isValidDateFormat(date2)) {
-                return date1.compareTo(date2);
+    /**
+     * Đưa dòng về đúng vị trí sau khi task của nó được pin/unpin, không sắp xếp lại cả bảng
+     */
+    public void rowPinChanged(int modelRow) {
+        if (modelRow < 0 || modelRow >= modelRowCount) {
+            return;
+        }
+        pinRanks[modelRow] = pinRank(model.getTaskAt(modelRow));
+        repositionRow(modelRow);
+    }
+
+    /**
+     * Cập nhật danh sách pinned tasks và refresh sắp xếp
+     */
+    public void updatePinnedTasks(OrderedLongSet newPinnedIds) {
+        pinnedTaskIds.copyFrom(newPinnedIds);
+        applySorting();
+    }
+
+    /**
+     * Lọc và sắp xếp lại toàn bộ mảng hoán vị từ các khóa đã tính
+     */
+    private void sort() {
+        int[] oldViewToModel = viewToModel;
+
+        int[] rows = new int[modelRowCount];
+        int count = 0;
+        for (int row = 0; row < modelRowCount; row++) {
+            if (include(row)) {
+                rows[count++] = row;
             }
-        } catch (Exception e) {
-            // Fallback to string comparison
+        }
+        if (count < rows.length) {
+            rows = Arrays.copyOf(rows, count);
+        }
+        if (!nameRanksValid && sortsByName()) {
+            rankNames();
+        }
+        mergeSort(rows, new int[count], 0, count, this::compareRows);
+
+        setViewToModel(rows, oldViewToModel);
+    }
+
+    private void setViewToModel(int[] rows, int[] oldViewToModel) {
+        viewToModel = rows;
+        if (modelToView.length != modelRowCount) {
+            modelToView = new int[modelRowCount];
+        }
+        Arrays.fill(modelToView, -1);
+        for (int view = 0; view < rows.length; view++) {
+            modelToView[rows[view]] = view;
         }
 
-        return date1.compareTo(date2);
+        fireRowSorterChanged(oldViewToModel);
     }
 
+    // ==================== INCREMENTAL UPDATES ====================
+
     /**
-     * Kiểm tra định dạng ngày hợp lệ
+     * Chèn model row vừa thêm vào view: binary search vị trí trong thứ tự hiện tại rồi dời phần phía sau
      */
-    private boolean isValidDateFormat(String date) {
-        return date.matches("\\d{4}-\\d{2}-\\d{2}");
+    private void insertIntoView(int row) {
+        int[] oldViewToModel = viewToModel;
+        int length = oldViewToModel.length;
+        boolean included = include(row);
+
+        // Các model row từ vị trí chèn trở đi đã bị đẩy lên 1
+        int[] rows = new int[included ? length + 1 : length];
+        for (int view = 0; view < length; view++) {
+            int modelRow = oldViewToModel[view];
+            rows[view] = modelRow >= row ? modelRow + 1 : modelRow;
+        }
+
+        if (included) {
+            int position = findViewPosition(rows, length, row);
+            System.arraycopy(rows, position, rows, position + 1, length - position);
+            rows[position] = row;
+        }
+        setViewToModel(rows, oldViewToModel);
     }
 
     /**
-     * Lấy vị trí của task đã pin trong danh sách pinned
+     * View sau khi xóa model row (các model row phía sau lùi xuống 1), gọi trước khi xóa khóa
      */
-    private int getPinnedPosition(int modelRow) {
-        int position = 0;
-        for (Integer pinnedRow : pinnedTaskRows) {
-            if (pinnedRow.equals(modelRow)) {
-                return position;
+    private int[] removeFromView(int row) {
+        int[] rows = new int[modelToView[row] >= 0 ? viewToModel.length - 1 : viewToModel.length];
+        int count = 0;
+        for (int modelRow : viewToModel) {
+            if (modelRow != row) {
+                rows[count++] = modelRow > row ? modelRow - 1 : modelRow;
             }
-            position++;
         }
-        return Integer.MAX_VALUE;
+        return rows;
     }
 
     /**
-     * Tìm model row từ giá trị cell
+     * Đưa một dòng có khóa vừa đổi về đúng vị trí (hoặc ẩn/hiện theo filter)
      */
-    private int findModelRowForValue(int column, Object value) {
-        DefaultTableModel model = (DefaultTableModel) getModel();
+    private void repositionRow(int row) {
+        int[] oldViewToModel = viewToModel;
+        int length = oldViewToModel.length;
+        int oldPosition = modelToView[row];
+        boolean included = include(row);
+
+        if (oldPosition >= 0 && included && isInPlace(oldPosition, row)) {
+            return; // Thứ tự không đổi
+        }
 
-        for (int i = 0; i < model.getRowCount(); i++) {
-            Object cellValue = model.getValueAt(i, column);
-            if (Objects.equals(cellValue, value)) {
-                return i;
+        int[] rows = new int[length - (oldPosition >= 0 ? 1 : 0) + (included ? 1 : 0)];
+        int count = length;
+        if (oldPosition >= 0) {
+            System.arraycopy(oldViewToModel, 0, rows, 0, oldPosition);
+            System.arraycopy(oldViewToModel, oldPosition + 1, rows, oldPosition, length - oldPosition - 1);
+            count--;
+        } else {
+            System.arraycopy(oldViewToModel, 0, rows, 0, length);
+        }
+
+        if (included) {
+            int position = findViewPosition(rows, count, row);
+            System.arraycopy(rows, position, rows, position + 1, count - position);
+            rows[position] = row;
+        }
+        setViewToModel(rows, oldViewToModel);
+    }
+
+    private boolean isInPlace(int position, int row) {
+        return (position == 0 || compareRows(viewToModel[position - 1], row) < 0)
+                && (position == viewToModel.length - 1 || compareRows(row, viewToModel[position + 1]) < 0);
+    }
+
+    /**
+     * Vị trí chèn row vào rows[0..length) đã sắp xếp (binary search)
+     */
+    private int findViewPosition(int[] rows, int length, int row) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareRows(rows[mid], row) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
             }
         }
+        return low;
+    }
 
-        return -1;
+    /**
+     * Merge sort trên mảng model row, không boxing
+     */
+    private static void mergeSort(int[] rows, int[] buffer, int from, int to, RowComparator comparator) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int row = rows[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(rows[j], row) > 0) {
+                    rows[j + 1] = rows[j];
+                    j--;
+                }
+                rows[j + 1] = row;
+            }
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        mergeSort(rows, buffer, from, mid, comparator);
+        mergeSort(rows, buffer, mid, to, comparator);
+        if (comparator.compare(rows[mid - 1], rows[mid]) <= 0) {
+            return; // Hai nửa đã đúng thứ tự
+        }
+
+        System.arraycopy(rows, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && comparator.compare(buffer[left], buffer[right]) <= 0)) {
+                rows[i] = buffer[left++];
+            } else {
+                rows[i] = buffer[right++];
+            }
+        }
     }
 
     /**
-     * Áp dụng sắp xếp với pinned tasks ở đầu
+     * So sánh hai model row theo khóa đã tính
      */
-    public void applySorting() {
-        if (getSortKeys().isEmpty()) {
-            setSortKeys(Arrays.asList(new RowSorter.SortKey(0, SortOrder.ASCENDING)));
+    private int compareRows(int row1, int row2) {
+        // Pinned tasks luôn ở đầu theo thứ tự pin, không phụ thuộc chiều sắp xếp
+        int result = Long.compare(pinRanks[row1], pinRanks[row2]);
+        if (result != 0) {
+            return result;
         }
-        sort();
+
+        for (int i = 0; i < keyColumns.length; i++) {
+            result = compareByColumnType(keyColumns[i], row1, row2);
+            if (result != 0) {
+                return keyAscending[i] ? result : -result;
+            }
+        }
+
+        // Bằng nhau thì giữ thứ tự model
+        return Integer.compare(row1, row2);
     }
 
     /**
-     * Cập nhật danh sách pinned tasks và refresh sắp xếp
+     * So sánh theo loại cột cụ thể
      */
-    public void updatePinnedTasks(LinkedHashSet<Integer> newPinnedRows) {
-        pinnedTaskRows.clear();
-        pinnedTaskRows.addAll(newPinnedRows);
-        applySorting();
+    private int compareByColumnType(int column, int row1, int row2) {
+        switch (column) {
+            case DUE_DATE_COLUMN:
+                return Long.compare(dueDays[row1], dueDays[row2]);
+            case PRIORITY_COLUMN:
+                return Byte.compare(priorityCodes[row1], priorityCodes[row2]);
+            case STATUS_COLUMN:
+                return Byte.compare(statusCodes[row1], statusCodes[row2]);
+            default: // Task Name và các cột khác
+                return compareNames(row1, row2);
+        }
+    }
+
+    private int compareNames(int row1, int row2) {
+        if (nameRanksValid) {
+            return Integer.compare(nameRanks[row1], nameRanks[row2]);
+        }
+        return nameKeys[row1].compareTo(nameKeys[row2]);
+    }
+
+    private boolean sortsByName() {
+        for (int column : keyColumns) {
+            if (column != DUE_DATE_COLUMN && column != PRIORITY_COLUMN && column != STATUS_COLUMN) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Xếp hạng tên của mọi dòng một lần để các lần sắp xếp sau chỉ so sánh int
+     */
+    private void rankNames() {
+        int[] rows = new int[modelRowCount];
+        for (int row = 0; row < modelRowCount; row++) {
+            rows[row] = row;
+        }
+        mergeSort(rows, new int[modelRowCount], 0, modelRowCount,
+                (row1, row2) -> nameKeys[row1].compareTo(nameKeys[row2]));
+
+        int rank = 0;
+        for (int i = 0; i < modelRowCount; i++) {
+            if (i > 0 && nameKeys[rows[i - 1]].compareTo(nameKeys[rows[i]]) != 0) {
+                rank++;
+            }
+            nameRanks[rows[i]] = rank;
+        }
+        nameRanksValid = true;
+    }
+
+    private boolean include(int row) {
+        if (rowFilter == null) {
+            return true;
+        }
+        if (precomputedMatches != null) {
+            return precomputedMatches[row];
+        }
+        filterEntry.row = row;
+        return rowFilter.include(filterEntry);
+    }
+
+    // ==================== SORT KEYS PER ROW ====================
+
+    private void updateKeys(int row) {
+        nameRanksValid = false;
+        Task task = model.getTaskAt(row);
+        pinRanks[row] = pinRank(task);
+        nameKeys[row] = collator.getCollationKey(task.getName() != null ? task.getName() : "");
+        dueDays[row] = task.hasDueDate() ? task.getDueDay() : NO_DUE_DATE;
+        priorityCodes[row] = task.getPriority().getCode();
+        statusCodes[row] = task.getStatus().getCode();
+    }
+
+    private void refreshPinRanks() {
+        for (int row = 0; row < modelRowCount; row++) {
+            pinRanks[row] = pinRank(model.getTaskAt(row));
+        }
+    }
+
+    /**
+     * Thứ tự pin của task (nhỏ hơn = pin trước), NOT_PINNED nếu không pin
+     */
+    private long pinRank(Task task) {
+        long order = pinnedTaskIds.isEmpty() ? -1 : pinnedTaskIds.orderOf(task.getId());
+        return order >= 0 ? order : NOT_PINNED;
+    }
+
+    // ==================== ARRAY HELPERS ====================
+
+    private static long[] insertGap(long[] array, int index, int count, int newLength) {
+        long[] result = array.length >= newLength ? array : Arrays.copyOf(array, Math.max(newLength, array.length * 3 / 2));
+        System.arraycopy(array, index, result, index + count, newLength - count - index);
+        return result;
+    }
+
+    private static int[] insertGap(int[] array, int index, int count, int newLength) {
+        int[] result = array.length >= newLength ? array : Arrays.copyOf(array, Math.max(newLength, array.length * 3 / 2));
+        System.arraycopy(array, index, result, index + count, newLength - count - index);
+        return result;
+    }
+
+    private static byte[] insertGap(byte[] array, int index, int count, int newLength) {
+        byte[] result = array.length >= newLength ? array : Arrays.copyOf(array, Math.max(newLength, array.length * 3 / 2));
+        System.arraycopy(array, index, result, index + count, newLength - count - index);
+        return result;
+    }
+
+    private static <T> T[] insertGap(T[] array, int index, int count, int newLength) {
+        T[] result = array.length >= newLength ? array : Arrays.copyOf(array, Math.max(newLength, array.length * 3 / 2));
+        System.arraycopy(array, index, result, index + count, newLength - count - index);
+        return result;
+    }
+
+    private void removeRange(Object array, int index, int count) {
+        System.arraycopy(array, index + count, array, index, modelRowCount - index - count);
+    }
+
+    private interface RowComparator {
+        int compare(int row1, int row2);
+    }
+
+    /**
+     * Entry dùng lại cho RowFilter, trỏ tới model row đang xét
+     */
+    private class FilterEntry extends RowFilter.Entry<TableModel, Integer> {
+        private int row;
+
+        @Override
+        public TableModel getModel() {
+            return model;
+        }
+
+        @Override
+        public int getValueCount() {
+            return model.getColumnCount();
+        }
+
+        @Override
+        public Object getValue(int index) {
+            return model.getValueAt(row, index);
+        }
+
+        @Override
+        public Integer getIdentifier() {
+            return row;
+        }
     }
-}
\ No newline at end of file
+}
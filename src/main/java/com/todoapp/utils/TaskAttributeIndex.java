@@ -0,0 +1,124 @@
+package com.todoapp.utils;
+
+import java.util.BitSet;
+import java.util.List;
+
+import com.todoapp.models.Priority;
+import com.todoapp.models.Status;
+import com.todoapp.models.Task;
+
+/**
+ * Index phụ trên thuộc tính task cho một danh sách tasks
+ * Bitmap theo vị trí cho từng status, từng priority (mảng theo ordinal) và pinned
+ * Lọc kết hợp (High AND Pending) bằng phép AND
+ * Vị trí đi theo swap-remove của TaskIdIndex: remove phải được gọi trước khi danh sách bị thay đổi
+ */
+class TaskAttributeIndex {
+  private final List<Task> tasks;
+  private final BitSet[] byStatus = newBitSets(Status.values().length);
+  private final BitSet[] byPriority = newBitSets(Priority.values().length);
+  private final BitSet pinned = new BitSet();
+
+  TaskAttributeIndex(List<Task> tasks) {
+    this.tasks = tasks;
+    rebuild();
+  }
+
+  // ==================== UPDATES ====================
+
+  /**
+   * Dựng lại index sau khi danh sách bị thay đổi trực tiếp
+   */
+  void rebuild() {
+    clear();
+    for (int i = 0; i < tasks.size(); i++) {
+      index(i, tasks.get(i), true);
+    }
+  }
+
+  /**
+   * Task mới được thêm vào vị trí position
+   */
+  void added(int position) {
+    index(position, tasks.get(position), true);
+  }
+
+  /**
+   * Task tại position đã được thay (previous là task cũ)
+   */
+  void replaced(int position, Task previous) {
+    index(position, previous, false);
+    index(position, tasks.get(position), true);
+  }
+
+  /**
+   * Gọi trước khi task tại position bị swap-remove: task cuối sẽ được chuyển vào position
+   */
+  void remove(int position) {
+    int lastPosition = tasks.size() - 1;
+    index(position, tasks.get(position), false);
+    if (position != lastPosition) {
+      Task last = tasks.get(lastPosition);
+      index(lastPosition, last, false);
+      index(position, last, true);
+    }
+  }
+
+  void clear() {
+    for (BitSet bits : byStatus) {
+      bits.clear();
+    }
+    for (BitSet bits : byPriority) {
+      bits.clear();
+    }
+    pinned.clear();
+  }
+
+  private void index(int position, Task task, boolean add) {
+    byStatus[task.getStatus().ordinal()].set(position, add);
+    byPriority[task.getPriority().ordinal()].set(position, add);
+    pinned.set(position, add && task.isPinned());
+  }
+
+  private static BitSet[] newBitSets(int count) {
+    BitSet[] bitmaps = new BitSet[count];
+    for (int i = 0; i < count; i++) {
+      bitmaps[i] = new BitSet();
+    }
+    return bitmaps;
+  }
+
+  // ==================== QUERIES ====================
+
+  /**
+   * Bitmap vị trí của các task có status (không được sửa)
+   */
+  BitSet withStatus(Status status) {
+    return byStatus[status.ordinal()];
+  }
+
+  /**
+   * Bitmap vị trí của các task có priority (không được sửa)
+   */
+  BitSet withPriority(Priority priority) {
+    return byPriority[priority.ordinal()];
+  }
+
+  /**
+   * Bitmap vị trí của các task đã pin (không được sửa)
+   */
+  BitSet pinned() {
+    return pinned;
+  }
+
+  /**
+   * Giao của các bitmap (bản sao mới)
+   */
+  static BitSet intersect(BitSet first, BitSet... others) {
+    BitSet result = (BitSet) first.clone();
+    for (BitSet other : others) {
+      result.and(other);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,204 @@
+package com.todoapp.utils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.todoapp.models.Priority;
+import com.todoapp.models.Status;
+import com.todoapp.models.Task;
+
+/**
+ * Định dạng snapshot nhị phân (versioned) cho danh sách tasks
+ * Header: Magic "TDLB" | Version (short) | JournalSeq (long) | Count (int)
+ * Record: Id (long, từ version 2) | EpochDay (int) | Priority (byte) | Status (byte) | Flags (byte)
+ * | Name (int length + UTF-8)
+ * Priority/Status là ordinal của enum; code CUSTOM (chuỗi length-prefixed UTF-8) chỉ còn đọc từ file cũ
+ */
+public class TaskBinaryFormat {
+  public static final int MAGIC = 0x54444C42; // "TDLB"
+  public static final short VERSION = 2;
+
+  public static final int NO_DUE_DATE = Task.NO_DUE_DATE;
+  private static final byte CUSTOM_CODE = 0x7F;
+  private static final byte FLAG_PINNED = 0x01;
+
+  private static final int HEADER_BYTES = 4 + 2 + 8 + 4;
+  private static final int RECORD_BYTES_V1 = 4 + 1 + 1 + 1 + 4; // Record nhỏ nhất: tên rỗng, không có chuỗi CUSTOM
+  private static final int ID_BYTES = 8;
+
+  /**
+   * Kết quả đọc snapshot nhị phân
+   */
+  public static class Snapshot {
+    private final List<Task> tasks;
+    private final long journalSeq;
+
+    Snapshot(List<Task> tasks, long journalSeq) {
+      this.tasks = tasks;
+      this.journalSeq = journalSeq;
+    }
+
+    public List<Task> getTasks() {
+      return tasks;
+    }
+
+    public long getJournalSeq() {
+      return journalSeq;
+    }
+  }
+
+  private TaskBinaryFormat() {
+  }
+
+  // ==================== WRITE ====================
+
+  /**
+   * Ghi snapshot nhị phân, trả về số task đã ghi
+   * Task null hoặc không có tên bị bỏ qua giống format text
+   */
+  public static int write(OutputStream output, List<Task> tasks, long journalSeq) throws IOException {
+    int count = 0;
+    for (Task task : tasks) {
+      if (isWritable(task)) {
+        count++;
+      }
+    }
+
+    DataOutputStream out = new DataOutputStream(output);
+    out.writeInt(MAGIC);
+    out.writeShort(VERSION);
+    out.writeLong(journalSeq);
+    out.writeInt(count);
+
+    for (Task task : tasks) {
+      if (!isWritable(task)) {
+        continue;
+      }
+
+      out.writeLong(task.getId());
+      out.writeInt(task.getDueDay());
+
+      out.writeByte(task.getPriority().getCode());
+      out.writeByte(task.getStatus().getCode());
+      out.writeByte(task.isPinned() ? FLAG_PINNED : 0);
+
+      writeString(out, task.getName());
+    }
+
+    out.flush();
+    return count;
+  }
+
+  // ==================== READ ====================
+
+  /**
+   * Chỉ đọc header, trả về journal seq của snapshot (dùng để chọn snapshot mới nhất khi tải)
+   */
+  public static long readJournalSeq(InputStream input) throws IOException {
+    DataInputStream in = new DataInputStream(input);
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Không phải file snapshot nhị phân của Todo List");
+    }
+    short version = in.readShort();
+    if (version < 1 || version > VERSION) {
+      throw new IOException("Phiên bản snapshot không được hỗ trợ: " + version);
+    }
+    return in.readLong();
+  }
+
+  /**
+   * Đọc snapshot nhị phân có độ dài length byte
+   * Số task và độ dài chuỗi được kiểm tra với số byte còn lại trước khi cấp phát,
+   * file bị cắt cụt hoặc hỏng báo IOException thay vì cấp phát theo số rác
+   */
+  public static Snapshot read(InputStream input, long length) throws IOException {
+    DataInputStream in = new DataInputStream(input);
+
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Không phải file snapshot nhị phân của Todo List");
+    }
+
+    short version = in.readShort();
+    if (version < 1 || version > VERSION) {
+      throw new IOException("Phiên bản snapshot không được hỗ trợ: " + version);
+    }
+
+    long journalSeq = in.readLong();
+    int count = in.readInt();
+    int recordBytes = version >= 2 ? ID_BYTES + RECORD_BYTES_V1 : RECORD_BYTES_V1;
+    long remaining = length - HEADER_BYTES;
+    if (count < 0 || count > remaining / recordBytes) {
+      throw new IOException("Số lượng task không hợp lệ: " + count);
+    }
+
+    List<Task> tasks = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      long id = version >= 2 ? in.readLong() : Task.NO_ID;
+      int epochDay = in.readInt();
+      byte priorityCode = in.readByte();
+      byte statusCode = in.readByte();
+      byte flags = in.readByte();
+      remaining -= recordBytes - 4;
+      byte[] nameBytes = readBytes(in, remaining);
+      remaining -= 4 + nameBytes.length;
+
+      // Snapshot cũ có thể chứa chuỗi tùy ý, parse về enum (không nhận ra thì lấy mặc định)
+      Priority priority;
+      if (priorityCode == CUSTOM_CODE) {
+        byte[] bytes = readBytes(in, remaining);
+        remaining -= 4 + bytes.length;
+        priority = Priority.parse(new String(bytes, StandardCharsets.UTF_8));
+      } else {
+        priority = Priority.fromCode(priorityCode);
+      }
+      Status status;
+      if (statusCode == CUSTOM_CODE) {
+        byte[] bytes = readBytes(in, remaining);
+        remaining -= 4 + bytes.length;
+        status = Status.parse(new String(bytes, StandardCharsets.UTF_8));
+      } else {
+        status = Status.fromCode(statusCode);
+      }
+
+      String name = new String(nameBytes, StandardCharsets.UTF_8);
+
+      Task task = new Task(name, epochDay, priority, status, (flags & FLAG_PINNED) != 0);
+      task.setId(id);
+      tasks.add(task);
+    }
+
+    return new Snapshot(tasks, journalSeq);
+  }
+
+  // ==================== UTILITY METHODS ====================
+
+  private static boolean isWritable(Task task) {
+    return task != null && task.getName() != null && !task.getName().trim().isEmpty();
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * Đọc chuỗi length-prefixed, remaining là số byte còn lại của file tính từ độ dài chuỗi
+   */
+  private static byte[] readBytes(DataInputStream in, long remaining) throws IOException {
+    int length = in.readInt();
+    if (length < 0 || length > remaining - 4) {
+      throw new EOFException("Độ dài chuỗi không hợp lệ: " + length);
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return bytes;
+  }
+}
@@ -0,0 +1,143 @@
+package com.todoapp.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.todoapp.models.Task;
+
+/**
+ * Theo dõi các task đã thêm/sửa/xóa kể từ lần lưu gần nhất
+ * Các thay đổi liên tiếp lên cùng một task được gộp lại để lần lưu chỉ ghi phần delta
+ * Khi số thay đổi quá lớn so với danh sách thì chuyển sang lưu toàn bộ
+ * Thread-safe: kết quả lưu được báo về từ writer thread
+ */
+class TaskChangeSet {
+  private static final int MIN_FULL_SAVE_CHANGES = 1024; // Dưới ngưỡng này luôn lưu delta
+
+  enum Kind {
+    INSERT, UPDATE, DELETE, PIN, CLEAR
+  }
+
+  /**
+   * Một thay đổi lên task có id cho trước
+   */
+  static class Change {
+    private final Kind kind;
+    private final long id;
+    private Task task;
+    private boolean pinned;
+
+    Change(Kind kind, long id, Task task, boolean pinned) {
+      this.kind = kind;
+      this.id = id;
+      this.task = task;
+      this.pinned = pinned;
+    }
+
+    Kind getKind() {
+      return kind;
+    }
+
+    long getId() {
+      return id;
+    }
+
+    Task getTask() {
+      return task;
+    }
+
+    boolean isPinned() {
+      return pinned;
+    }
+  }
+
+  private final List<Change> changes = new ArrayList<>();
+  // id -> thay đổi INSERT/UPDATE chưa lưu của task đó, các thay đổi sau được gộp vào
+  private final Map<Long, Change> mergeable = new HashMap<>();
+  private boolean fullSaveRequired;
+
+  // ==================== RECORD CHANGES ====================
+
+  synchronized void inserted(Task task) {
+    Change change = new Change(Kind.INSERT, task.getId(), task, false);
+    changes.add(change);
+    mergeable.put(task.getId(), change);
+  }
+
+  synchronized void updated(Task task) {
+    Change previous = mergeable.get(task.getId());
+    if (previous != null) {
+      // Task vừa thêm/sửa chưa lưu: chỉ cần ghi trạng thái cuối
+      previous.task = task;
+      return;
+    }
+
+    Change change = new Change(Kind.UPDATE, task.getId(), task, false);
+    changes.add(change);
+    mergeable.put(task.getId(), change);
+  }
+
+  synchronized void pinned(Task task) {
+    Change previous = mergeable.get(task.getId());
+    if (previous != null) {
+      previous.task = task;
+      return;
+    }
+    changes.add(new Change(Kind.PIN, task.getId(), null, task.isPinned()));
+  }
+
+  synchronized void deleted(long id) {
+    changes.add(new Change(Kind.DELETE, id, null, false));
+    mergeable.remove(id);
+  }
+
+  synchronized void cleared() {
+    // Mọi thay đổi trước đó đều bị thay thế
+    changes.clear();
+    mergeable.clear();
+    changes.add(new Change(Kind.CLEAR, Task.NO_ID, null, false));
+  }
+
+  // ==================== SAVE STATE ====================
+
+  /**
+   * Lần lưu tiếp theo phải ghi toàn bộ danh sách (sau khi thay cả danh sách hoặc lưu thất bại)
+   */
+  synchronized void requireFullSave() {
+    fullSaveRequired = true;
+    changes.clear();
+    mergeable.clear();
+  }
+
+  /**
+   * Kiểm tra có nên ghi toàn bộ danh sách thay vì delta hay không
+   */
+  synchronized boolean isFullSaveRequired(int taskCount) {
+    return fullSaveRequired || (changes.size() > MIN_FULL_SAVE_CHANGES && changes.size() > taskCount / 4);
+  }
+
+  /**
+   * Lấy các thay đổi đang chờ lưu và bắt đầu theo dõi lại từ đầu
+   */
+  synchronized List<Change> drain() {
+    List<Change> drained = new ArrayList<>(changes);
+    reset();
+    return drained;
+  }
+
+  synchronized void reset() {
+    fullSaveRequired = false;
+    changes.clear();
+    mergeable.clear();
+  }
+
+  synchronized int size() {
+    return changes.size();
+  }
+
+  synchronized boolean isEmpty() {
+    return changes.isEmpty() && !fullSaveRequired;
+  }
+}
@@ -0,0 +1,145 @@
+package com.todoapp.utils;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongConsumer;
+
+import com.todoapp.models.Status;
+import com.todoapp.models.Task;
+
+/**
+ * Index due date (theo epoch-day) -> id task, sắp xếp theo ngày nên truy vấn khoảng ngày chỉ duyệt kết quả
+ * Giữ thêm tập task quá hạn (due trước hôm nay và chưa Completed), cập nhật theo từng thay đổi
+ * Khi sang ngày mới chỉ các task due vào (các) ngày vừa qua được đưa vào tập quá hạn (advanceDay)
+ */
+class TaskDueDateIndex {
+  private final TaskIdIndex idIndex;
+  private final TreeMap<Long, OrderedLongSet> byDay = new TreeMap<>();
+  private final OrderedLongSet overdue = new OrderedLongSet();
+  private long today;
+
+  TaskDueDateIndex(TaskIdIndex idIndex) {
+    this.idIndex = idIndex;
+    this.today = LocalDate.now().toEpochDay();
+  }
+
+  // ==================== UPDATES ====================
+
+  /**
+   * Dựng lại index từ danh sách tasks
+   */
+  void rebuild(List<Task> tasks) {
+    clear();
+    today = LocalDate.now().toEpochDay();
+    for (Task task : tasks) {
+      added(task);
+    }
+  }
+
+  void added(Task task) {
+    if (!task.hasDueDate()) {
+      return;
+    }
+
+    long day = task.getDueDay();
+    byDay.computeIfAbsent(day, k -> new OrderedLongSet()).add(task.getId());
+    if (day < today && task.getStatus() != Status.COMPLETED) {
+      overdue.add(task.getId());
+    }
+  }
+
+  void removed(Task task) {
+    if (!task.hasDueDate()) {
+      return;
+    }
+
+    Long day = (long) task.getDueDay();
+    OrderedLongSet ids = byDay.get(day);
+    if (ids != null && ids.remove(task.getId()) && ids.isEmpty()) {
+      byDay.remove(day);
+    }
+    overdue.remove(task.getId());
+  }
+
+  void replaced(Task previous, Task task) {
+    removed(previous);
+    added(task);
+  }
+
+  void clear() {
+    byDay.clear();
+    overdue.clear();
+  }
+
+  /**
+   * Chuyển mốc "hôm nay" sang ngày hiện tại, trả về true nếu tập quá hạn thay đổi
+   * Chỉ duyệt các task due trong khoảng [hôm nay cũ, hôm nay mới)
+   */
+  boolean advanceDay() {
+    long newToday = LocalDate.now().toEpochDay();
+    if (newToday == today) {
+      return false;
+    }
+
+    long oldToday = today;
+    today = newToday;
+    if (newToday < oldToday) {
+      // Đồng hồ bị lùi, đếm lại toàn bộ
+      overdue.clear();
+      byDay.headMap(newToday, false).values().forEach(ids -> ids.forEach(this::addIfOverdue));
+      return true;
+    }
+
+    int before = overdue.size();
+    byDay.subMap(oldToday, true, newToday, false).values().forEach(ids -> ids.forEach(this::addIfOverdue));
+    return overdue.size() != before;
+  }
+
+  private void addIfOverdue(long id) {
+    Task task = idIndex.get(id);
+    if (task != null && task.getStatus() != Status.COMPLETED) {
+      overdue.add(id);
+    }
+  }
+
+  // ==================== QUERIES ====================
+
+  /**
+   * Duyệt id các task có due date trong [from, to] (epoch-day), theo ngày tăng dần
+   */
+  void forEachDueBetween(long fromDay, long toDay, LongConsumer action) {
+    if (fromDay > toDay) {
+      return;
+    }
+    for (OrderedLongSet ids : byDay.subMap(fromDay, true, toDay, true).values()) {
+      ids.forEach(action);
+    }
+  }
+
+  /**
+   * Duyệt id mọi task có due date, theo ngày tăng dần
+   */
+  void forEachByDueDate(LongConsumer action) {
+    for (OrderedLongSet ids : byDay.values()) {
+      ids.forEach(action);
+    }
+  }
+
+  /**
+   * Các ngày có task trong [from, to] (epoch-day) -> id task của ngày đó (không được sửa)
+   */
+  Map<Long, OrderedLongSet> daysBetween(long fromDay, long toDay) {
+    return fromDay <= toDay ? byDay.subMap(fromDay, true, toDay, true) : Collections.emptyMap();
+  }
+
+  OrderedLongSet overdue() {
+    return overdue;
+  }
+
+  long today() {
+    return today;
+  }
+}
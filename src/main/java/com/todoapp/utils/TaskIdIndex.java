@@ -0,0 +1,118 @@
+package com.todoapp.utils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.todoapp.models.Task;
+
+/**
+ * Index id -> vị trí cho một danh sách tasks
+ * Xóa bằng cách chuyển task cuối vào chỗ trống (swap-remove) nên get/update/delete theo id đều O(1)
+ * Thứ tự trong danh sách vì vậy không phải thứ tự hiển thị (bảng luôn được sắp xếp)
+ */
+class TaskIdIndex {
+  private final List<Task> tasks;
+  private final Map<Long, Integer> positions;
+  private long nextId;
+
+  /**
+   * Tạo index cho danh sách có sẵn, task chưa có id (hoặc trùng id) được cấp id mới theo thứ tự
+   */
+  TaskIdIndex(List<Task> tasks) {
+    this.tasks = tasks;
+    this.positions = new HashMap<>(Math.max(16, tasks.size() * 4 / 3 + 1));
+    rebuild();
+  }
+
+  /**
+   * Dựng lại index sau khi danh sách bị thay đổi trực tiếp
+   */
+  void rebuild() {
+    positions.clear();
+
+    long maxId = Task.NO_ID;
+    for (Task task : tasks) {
+      maxId = Math.max(maxId, task.getId());
+    }
+    nextId = maxId + 1;
+
+    for (int i = 0; i < tasks.size(); i++) {
+      Task task = tasks.get(i);
+      if (task.getId() == Task.NO_ID || positions.containsKey(task.getId())) {
+        task.setId(nextId++);
+        tasks.set(i, task); // ColumnarTaskList/OffHeapTaskList trả về bản chụp, phải ghi lại id mới
+      }
+      positions.put(task.getId(), i);
+    }
+  }
+
+  // ==================== OPERATIONS ====================
+
+  /**
+   * Thêm task vào cuối danh sách, cấp id nếu task chưa có id hoặc id đã tồn tại
+   */
+  void add(Task task) {
+    if (task.getId() == Task.NO_ID || positions.containsKey(task.getId())) {
+      task.setId(nextId++);
+    } else {
+      nextId = Math.max(nextId, task.getId() + 1);
+    }
+    positions.put(task.getId(), tasks.size());
+    tasks.add(task);
+  }
+
+  /**
+   * Thay task có id cho trước, task mới giữ nguyên id đó
+   */
+  boolean set(long id, Task task) {
+    Integer index = positions.get(id);
+    if (index == null) {
+      return false;
+    }
+    task.setId(id);
+    tasks.set(index, task);
+    return true;
+  }
+
+  /**
+   * Xóa task theo id (swap-remove), trả về task đã xóa hoặc null
+   */
+  Task remove(long id) {
+    Integer index = positions.remove(id);
+    if (index == null) {
+      return null;
+    }
+
+    Task removed = tasks.get(index);
+    int lastIndex = tasks.size() - 1;
+    if (index != lastIndex) {
+      Task last = tasks.get(lastIndex);
+      tasks.set(index, last);
+      positions.put(last.getId(), index);
+    }
+    tasks.remove(lastIndex);
+    return removed;
+  }
+
+  void clear() {
+    tasks.clear();
+    positions.clear();
+  }
+
+  // ==================== LOOKUP ====================
+
+  int indexOf(long id) {
+    Integer index = positions.get(id);
+    return index != null ? index : -1;
+  }
+
+  Task get(long id) {
+    Integer index = positions.get(id);
+    return index != null ? tasks.get(index) : null;
+  }
+
+  boolean contains(long id) {
+    return positions.containsKey(id);
+  }
+}
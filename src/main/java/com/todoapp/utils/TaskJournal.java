@@ -0,0 +1,449 @@
+package com.todoapp.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-ahead journal (append-only) cho TaskStorage
+ * Mỗi thay đổi được ghi thêm thành một record nhỏ thay vì ghi lại toàn bộ file
+ * Format record: Seq|Op|Payload
+ */
+public class TaskJournal {
+  private static final int GROUP_COMMIT_RECORDS = 64; // fsync sau mỗi nhóm record
+  private static final long GROUP_COMMIT_INTERVAL_MS = 200; // hoặc sau khoảng thời gian này
+
+  /**
+   * Các loại thay đổi được ghi vào journal
+   * UPDATE/DELETE/PIN theo index chỉ còn để replay journal cũ, record mới dùng bản theo id
+   */
+  public enum Op {
+    ADD('A'), UPDATE('U'), DELETE('D'), PIN('P'), CLEAR('C'),
+    UPDATE_BY_ID('u'), DELETE_BY_ID('d'), PIN_BY_ID('p');
+
+    private final char code;
+
+    Op(char code) {
+      this.code = code;
+    }
+
+    public char getCode() {
+      return code;
+    }
+
+    static Op fromCode(char code) {
+      for (Op op : values()) {
+        if (op.code == code) {
+          return op;
+        }
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Một record đã đọc từ journal
+   */
+  public static class Record {
+    private final long seq;
+    private final Op op;
+    private final String payload;
+    private final int lineNumber;
+
+    Record(long seq, Op op, String payload, int lineNumber) {
+      this.seq = seq;
+      this.op = op;
+      this.payload = payload;
+      this.lineNumber = lineNumber;
+    }
+
+    public long getSeq() {
+      return seq;
+    }
+
+    public Op getOp() {
+      return op;
+    }
+
+    public String getPayload() {
+      return payload;
+    }
+
+    public int getLineNumber() {
+      return lineNumber;
+    }
+  }
+
+  private final File journalFile;
+  private final File rotatedFile;
+  private FileChannel channel;
+  private ScheduledExecutorService syncExecutor;
+  private long lastSeq;
+  private int recordCount;
+  private int unsyncedRecords;
+  private boolean syncScheduled;
+
+  public TaskJournal(File journalFile) {
+    this.journalFile = journalFile;
+    this.rotatedFile = new File(journalFile.getAbsolutePath() + ".old");
+  }
+
+  // ==================== WRITE OPERATIONS ====================
+
+  /**
+   * Ghi thêm một record vào cuối journal
+   * fsync được gom nhóm theo số record hoặc theo thời gian
+   */
+  public synchronized boolean append(Op op, String payload) {
+    try {
+      ensureOpen();
+
+      long seq = lastSeq + 1;
+      ByteBuffer buffer = ByteBuffer.wrap(formatRecord(seq, op, payload).getBytes(StandardCharsets.UTF_8));
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+
+      lastSeq = seq;
+      recordCount++;
+      unsyncedRecords++;
+
+      if (unsyncedRecords >= GROUP_COMMIT_RECORDS) {
+        sync();
+      } else {
+        scheduleSync();
+      }
+      return true;
+
+    } catch (IOException e) {
+      System.err.println("TaskJournal: Lỗi khi ghi journal: " + e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Ép các record đang chờ xuống đĩa
+   */
+  public synchronized boolean sync() {
+    if (channel == null || unsyncedRecords == 0) {
+      return true;
+    }
+
+    try {
+      channel.force(false);
+      unsyncedRecords = 0;
+      return true;
+    } catch (IOException e) {
+      System.err.println("TaskJournal: Lỗi khi fsync journal: " + e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Xóa các record đã nằm trong snapshot (seq <= uptoSeq)
+   * Seq tiếp tục tăng để replay bỏ qua được các record cũ
+   */
+  public synchronized void checkpoint(long uptoSeq) {
+    if (lastSeq > uptoSeq) {
+      // Snapshot được chụp trước khi ghi (lưu bất đồng bộ), giữ lại các record mới hơn
+      retainRecordsAfter(uptoSeq);
+      return;
+    }
+
+    recordCount = 0;
+    try {
+      if (channel != null) {
+        channel.truncate(0);
+        channel.force(true);
+        unsyncedRecords = 0;
+      } else if (journalFile.exists()) {
+        try (FileChannel truncateChannel = FileChannel.open(journalFile.toPath(), StandardOpenOption.WRITE)) {
+          truncateChannel.truncate(0);
+          truncateChannel.force(true);
+        }
+      }
+    } catch (IOException e) {
+      System.err.println("TaskJournal: Lỗi khi checkpoint journal: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Chuyển journal hiện tại sang file .old để compactor gộp vào snapshot
+   * Các record mới được ghi vào journal rỗng mới
+   * Trả về seq cuối cùng nằm trong phần đã rotate, -1 nếu đang có rotate chưa xong
+   */
+  public synchronized long rotate() {
+    if (rotatedFile.exists()) {
+      return -1;
+    }
+
+    try {
+      sync();
+      if (channel != null) {
+        channel.close();
+        channel = null;
+      }
+      if (journalFile.exists()) {
+        Files.move(journalFile.toPath(), rotatedFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+      }
+      recordCount = 0;
+      return lastSeq;
+
+    } catch (IOException e) {
+      System.err.println("TaskJournal: Lỗi khi rotate journal: " + e.getMessage());
+      return -1;
+    }
+  }
+
+  /**
+   * Xóa phần journal đã rotate khi snapshot (seq uptoSeq) đã chứa toàn bộ record trong đó
+   */
+  public synchronized void discardRotated(long uptoSeq) {
+    if (!rotatedFile.exists()) {
+      return;
+    }
+
+    List<Record> rotatedRecords = new ArrayList<>();
+    readRecords(rotatedFile, uptoSeq, rotatedRecords);
+    if (!rotatedRecords.isEmpty()) {
+      return;
+    }
+
+    try {
+      Files.deleteIfExists(rotatedFile.toPath());
+    } catch (IOException e) {
+      System.err.println("TaskJournal: Không thể xóa journal cũ: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Ghi lại journal chỉ với các record có seq > uptoSeq
+   */
+  private void retainRecordsAfter(long uptoSeq) {
+    List<Record> kept = new ArrayList<>();
+    readRecords(journalFile, uptoSeq, kept);
+
+    StringBuilder content = new StringBuilder();
+    for (Record record : kept) {
+      content.append(formatRecord(record.getSeq(), record.getOp(), record.getPayload()));
+    }
+
+    File tempFile = new File(journalFile.getAbsolutePath() + ".tmp");
+    try {
+      sync();
+      if (channel != null) {
+        channel.close();
+        channel = null;
+      }
+
+      try (FileChannel tempChannel = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE,
+          StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        ByteBuffer buffer = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+          tempChannel.write(buffer);
+        }
+        tempChannel.force(true);
+      }
+
+      Files.move(tempFile.toPath(), journalFile.toPath(),
+          StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      recordCount = kept.size();
+
+    } catch (IOException e) {
+      System.err.println("TaskJournal: Lỗi khi checkpoint journal: " + e.getMessage());
+      tempFile.delete();
+    }
+  }
+
+  /**
+   * Đóng journal, fsync các record còn lại
+   */
+  public synchronized void close() {
+    sync();
+
+    if (syncExecutor != null) {
+      syncExecutor.shutdown();
+      syncExecutor = null;
+    }
+
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        System.err.println("TaskJournal: Lỗi khi đóng journal: " + e.getMessage());
+      }
+      channel = null;
+    }
+  }
+
+  // ==================== READ OPERATIONS ====================
+
+  /**
+   * Đọc các record có seq lớn hơn afterSeq
+   * Journal đã rotate (nếu compaction chưa xong) được đọc trước journal hiện tại
+   */
+  public synchronized List<Record> readRecords(long afterSeq) {
+    List<Record> records = new ArrayList<>();
+    readRecords(rotatedFile, afterSeq, records);
+    readRecords(journalFile, afterSeq, records);
+    recordCount = records.size();
+    return records;
+  }
+
+  /**
+   * Đọc records từ một file journal
+   * Record cuối bị ghi dở (thiếu newline) do crash sẽ bị bỏ qua
+   */
+  private void readRecords(File file, long afterSeq, List<Record> records) {
+    if (!file.exists() || file.length() == 0) {
+      return;
+    }
+
+    try {
+      byte[] bytes = Files.readAllBytes(file.toPath());
+
+      int end = bytes.length;
+      while (end > 0 && bytes[end - 1] != '\n') {
+        end--;
+      }
+      if (end < bytes.length) {
+        System.err.println("TaskJournal: Bỏ qua record cuối bị ghi dở (" + (bytes.length - end) + " bytes)");
+        truncateTornTail(file, end);
+      }
+
+      String content = new String(bytes, 0, end, StandardCharsets.UTF_8);
+      String[] lines = content.split("\n");
+
+      for (int i = 0; i < lines.length; i++) {
+        if (lines[i].isEmpty()) {
+          continue;
+        }
+
+        Record record = parseRecord(lines[i], i + 1);
+        if (record == null) {
+          continue;
+        }
+
+        lastSeq = Math.max(lastSeq, record.getSeq());
+        if (record.getSeq() > afterSeq) {
+          records.add(record);
+        }
+      }
+
+    } catch (IOException e) {
+      System.err.println("TaskJournal: Lỗi khi đọc journal: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Parse một dòng journal thành Record
+   */
+  private Record parseRecord(String line, int lineNumber) {
+    int firstSep = line.indexOf('|');
+    int secondSep = firstSep >= 0 ? line.indexOf('|', firstSep + 1) : -1;
+
+    if (firstSep <= 0 || secondSep != firstSep + 2) {
+      System.err.println("TaskJournal: Record không hợp lệ tại dòng " + lineNumber + ": " + line);
+      return null;
+    }
+
+    try {
+      long seq = Long.parseLong(line.substring(0, firstSep));
+      Op op = Op.fromCode(line.charAt(firstSep + 1));
+      if (op == null) {
+        System.err.println("TaskJournal: Loại record không hợp lệ tại dòng " + lineNumber + ": " + line);
+        return null;
+      }
+      return new Record(seq, op, line.substring(secondSep + 1), lineNumber);
+
+    } catch (NumberFormatException e) {
+      System.err.println("TaskJournal: Seq không hợp lệ tại dòng " + lineNumber + ": " + line);
+      return null;
+    }
+  }
+
+  // ==================== UTILITY METHODS ====================
+
+  private static String formatRecord(long seq, Op op, String payload) {
+    StringBuilder record = new StringBuilder();
+    record.append(seq).append('|').append(op.getCode()).append('|');
+    if (payload != null) {
+      record.append(payload);
+    }
+    return record.append('\n').toString();
+  }
+
+  /**
+   * Cắt bỏ record ghi dở để record append sau không bị dính vào
+   */
+  private void truncateTornTail(File file, long validLength) {
+    try (FileChannel truncateChannel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+      truncateChannel.truncate(validLength);
+      truncateChannel.force(true);
+    } catch (IOException e) {
+      System.err.println("TaskJournal: Không thể cắt record ghi dở: " + e.getMessage());
+    }
+  }
+
+  private void ensureOpen() throws IOException {
+    if (channel == null) {
+      channel = FileChannel.open(journalFile.toPath(),
+          StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+  }
+
+  /**
+   * Hẹn giờ fsync cho nhóm record hiện tại
+   */
+  private void scheduleSync() {
+    if (syncScheduled) {
+      return;
+    }
+
+    if (syncExecutor == null) {
+      syncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-journal-sync");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+
+    syncScheduled = true;
+    syncExecutor.schedule(() -> {
+      synchronized (TaskJournal.this) {
+        syncScheduled = false;
+        sync();
+      }
+    }, GROUP_COMMIT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+  }
+
+  public synchronized long getLastSeq() {
+    return lastSeq;
+  }
+
+  public synchronized void setLastSeq(long seq) {
+    lastSeq = Math.max(lastSeq, seq);
+  }
+
+  public File getJournalFile() {
+    return journalFile;
+  }
+
+  public long getJournalSize() {
+    return journalFile.exists() ? journalFile.length() : 0;
+  }
+
+  public synchronized int getRecordCount() {
+    return recordCount;
+  }
+}
@@ -0,0 +1,89 @@
+package com.todoapp.utils;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Lock của TaskManager (bọc StampedLock): thay đổi giữ write lock, truy vấn duyệt/dựng kết quả giữ read lock
+ * Chỉ việc đọc vài field (size, vị trí theo id, bộ đếm, một phần tử) mới chạy optimistic, không khóa
+ * Không reentrant: code đang giữ lock không được gọi read()/readInt() lồng nhau
+ */
+final class TaskLock {
+  private final StampedLock lock = new StampedLock();
+
+  long writeLock() {
+    return lock.writeLock();
+  }
+
+  void unlockWrite(long stamp) {
+    lock.unlockWrite(stamp);
+  }
+
+  /**
+   * Chạy reader khi đang giữ read lock (dùng cho mọi truy vấn duyệt index hoặc dựng danh sách)
+   */
+  <T> T read(Supplier<T> reader) {
+    long stamp = lock.readLock();
+    try {
+      return reader.get();
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Đọc optimistic không khóa, đọc lại với read lock nếu có ghi xen vào
+   * reader chỉ được đọc vài field/tra một lần (không duyệt, không cấp phát theo dữ liệu đọc được)
+   */
+  int readInt(IntSupplier reader) {
+    long stamp = lock.tryOptimisticRead();
+    if (stamp != 0) {
+      try {
+        int result = reader.getAsInt();
+        if (lock.validate(stamp)) {
+          return result;
+        }
+      } catch (RuntimeException e) {
+        if (lock.validate(stamp)) {
+          throw e; // Lỗi thật, không phải do đọc trúng lúc đang ghi
+        }
+      }
+    }
+
+    stamp = lock.readLock();
+    try {
+      return reader.getAsInt();
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Đọc optimistic một phần tử tại index, đọc lại với read lock nếu có ghi xen vào
+   * reader nhận index làm tham số nên nơi gọi giữ một instance dùng lại, mỗi lần đọc không tạo lambda
+   */
+  <T> T readAt(IntFunction<T> reader, int index) {
+    long stamp = lock.tryOptimisticRead();
+    if (stamp != 0) {
+      try {
+        T result = reader.apply(index);
+        if (lock.validate(stamp)) {
+          return result;
+        }
+      } catch (RuntimeException e) {
+        if (lock.validate(stamp)) {
+          throw e; // Lỗi thật, không phải do đọc trúng lúc đang ghi
+        }
+      }
+    }
+
+    stamp = lock.readLock();
+    try {
+      return reader.apply(index);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+}
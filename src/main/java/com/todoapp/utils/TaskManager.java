@@ -1,59 +1,197 @@
 package com.todoapp.utils;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.temporal.WeekFields;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
 
+import javax.swing.Timer;
+
+import com.todoapp.models.Priority;
+import com.todoapp.models.Status;
 import com.todoapp.models.Task;
 
 /**
  * Manager quản lý tasks trong bộ nhớ và đồng bộ với storage
  * Cung cấp CRUD operations và tracking changes
+ * Thread-safe: thay đổi giữ write lock, truy vấn giữ read lock (đếm/tra vị trí đọc optimistic, không chặn)
+ * nên worker thread và shutdown hook đọc được trong khi EDT đang sửa
+ * Mỗi thay đổi phát hành một snapshot bất biến mới (MVCC), đọc cả danh sách không cần chép
  */
 public class TaskManager {
-  private final List<Task> tasks;
+  private static final long DAY_BOUNDARY_MARGIN_MS = 1000; // Timer có thể chạy sớm một chút
+
+  private final TaskLock lock = new TaskLock(); // Bảo vệ tasks, các index và pendingChanges
+  private final List<Task> tasks; // PersistentTaskList, ColumnarTaskList hoặc OffHeapTaskList (danh sách rất lớn)
+  private long version; // Phiên bản danh sách, tăng mỗi lần thay đổi
+  private volatile TaskSnapshot snapshot; // Phiên bản mới nhất, null nếu store không chia sẻ cấu trúc được
+  private volatile TaskSnapshot copiedSnapshot; // Bản chép của version hiện tại cho store theo cột/ngoài heap
+  private final IntFunction<Task> taskAt = this::taskAt; // Tạo một lần cho lock.readAt (getTask gọi mỗi cell)
+  private final TaskIdIndex idIndex; // id -> vị trí trong tasks
+  private final TaskNameIndex nameIndex; // n-gram/token của tên -> id
+  private final TaskAttributeIndex attributeIndex; // status/priority/pinned -> tasks
+  private final TaskDueDateIndex dueDateIndex; // due date -> tasks, tập quá hạn
+  private final TaskStatistics statistics;
+  private final Timer dayBoundaryTimer; // Làm mới tập quá hạn lúc sang ngày mới
+  private final List<Runnable> dayChangeListeners = new ArrayList<>();
   private final TaskStorage taskStorage;
+  private final AsyncSaveService saveService;
+  private final TaskChangeSet pendingChanges; // Thay đổi chưa lưu (khi không bật journal mode)
+  private final boolean journalMode;
   private boolean hasUnsavedChanges;
+  private long changeVersion; // tăng mỗi lần có thay đổi chưa lưu
 
   public TaskManager() {
-    this.tasks = new ArrayList<>();
+    this.tasks = createTaskList();
+    this.idIndex = new TaskIdIndex(tasks);
+    this.nameIndex = new TaskNameIndex();
+    this.attributeIndex = new TaskAttributeIndex(tasks);
+    this.dueDateIndex = new TaskDueDateIndex(idIndex);
+    this.statistics = new TaskStatistics(tasks, dueDateIndex, lock);
     this.taskStorage = new TaskStorage();
+    this.saveService = new AsyncSaveService(taskStorage);
+    this.pendingChanges = new TaskChangeSet();
+    this.journalMode = UserPreferences.isJournalModeEnabled();
     this.hasUnsavedChanges = false;
+    publish();
 
     // Auto-load existing data if available
     if (taskStorage.dataFileExists()) {
       loadTasksFromFile();
     }
+
+    this.dayBoundaryTimer = new Timer(0, e -> onDayBoundary());
+    this.dayBoundaryTimer.setRepeats(false);
+    scheduleDayBoundary();
   }
 
   // ==================== TASK OPERATIONS ====================
 
   /**
-   * Thêm task mới
+   * Thêm task mới, task được cấp id nếu chưa có
    */
   public void addTask(Task task) {
     if (task != null) {
-      tasks.add(task);
-      markAsChanged();
+      long stamp = lock.writeLock();
+      try {
+        idIndex.add(task);
+        nameIndex.add(task);
+        attributeIndex.added(tasks.size() - 1);
+        dueDateIndex.added(task);
+        statistics.added(task);
+        publish();
+        if (journalMode) {
+          onJournalWrite(taskStorage.journalTaskAdded(task));
+        } else {
+          pendingChanges.inserted(task);
+          markAsChanged();
+        }
+        compactJournalIfNeeded();
+      } finally {
+        lock.unlockWrite(stamp);
+      }
     }
   }
 
   /**
-   * Cập nhật task tại index
+   * Cập nhật task theo id, task mới giữ id cũ
    */
-  public void updateTask(int index, Task task) {
-    if (isValidIndex(index) && task != null) {
-      tasks.set(index, task);
-      markAsChanged();
+  public boolean updateTaskById(long id, Task task) {
+    long stamp = lock.writeLock();
+    try {
+      Task previous = idIndex.get(id);
+      if (task == null || !idIndex.set(id, task)) {
+        return false;
+      }
+      nameIndex.update(task);
+      attributeIndex.replaced(idIndex.indexOf(id), previous);
+      dueDateIndex.replaced(previous, task);
+      statistics.replaced(previous, task);
+      publish();
+
+      if (journalMode) {
+        onJournalWrite(taskStorage.journalTaskUpdated(task));
+      } else {
+        pendingChanges.updated(task);
+        markAsChanged();
+      }
+      compactJournalIfNeeded();
+      return true;
+    } finally {
+      lock.unlockWrite(stamp);
     }
   }
 
   /**
-   * Xóa task tại index
+   * Pin/unpin task theo id
    */
-  public void deleteTask(int index) {
-    if (isValidIndex(index)) {
-      tasks.remove(index);
-      markAsChanged();
+  public boolean setTaskPinnedById(long id, boolean pinned) {
+    long stamp = lock.writeLock();
+    try {
+      Task current = idIndex.get(id);
+      if (current == null) {
+        return false;
+      }
+      if (current.isPinned() == pinned) {
+        return true;
+      }
+
+      // Thay bằng bản sao để snapshot đang compact không bị sửa
+      Task task = new Task(current.getName(), current.getDueDay(),
+          current.getPriority(), current.getStatus(), pinned);
+      idIndex.set(id, task);
+      attributeIndex.replaced(idIndex.indexOf(id), current);
+      statistics.replaced(current, task);
+      publish();
+      if (journalMode) {
+        onJournalWrite(taskStorage.journalTaskPinned(id, pinned));
+      } else {
+        pendingChanges.pinned(task);
+        markAsChanged();
+      }
+      compactJournalIfNeeded();
+      return true;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Xóa task theo id
+   */
+  public boolean deleteTaskById(long id) {
+    long stamp = lock.writeLock();
+    try {
+      int index = idIndex.indexOf(id);
+      if (index < 0) {
+        return false;
+      }
+      attributeIndex.remove(index); // Trước swap-remove
+      Task removed = idIndex.remove(id);
+      dueDateIndex.removed(removed);
+      statistics.removed(removed);
+      nameIndex.remove(id);
+      publish();
+
+      if (journalMode) {
+        onJournalWrite(taskStorage.journalTaskDeleted(id));
+      } else {
+        pendingChanges.deleted(id);
+        markAsChanged();
+      }
+      compactJournalIfNeeded();
+      return true;
+    } finally {
+      lock.unlockWrite(stamp);
     }
   }
 
@@ -61,61 +199,141 @@ public class TaskManager {
    * Xóa tất cả tasks
    */
   public void clearAllTasks() {
-    tasks.clear();
-    markAsChanged();
+    long stamp = lock.writeLock();
+    try {
+      idIndex.clear();
+      nameIndex.clear();
+      attributeIndex.clear();
+      dueDateIndex.clear();
+      statistics.rebuild();
+      publish();
+      if (journalMode) {
+        onJournalWrite(taskStorage.journalTasksCleared());
+      } else {
+        pendingChanges.cleared();
+        markAsChanged();
+      }
+      compactJournalIfNeeded();
+    } finally {
+      lock.unlockWrite(stamp);
+    }
   }
 
   /**
-   * Lấy task tại index
+   * Lấy task theo id
+   */
+  public Task getTaskById(long id) {
+    return lock.read(() -> idIndex.get(id));
+  }
+
+  /**
+   * Vị trí lưu trữ của task có id cho trước, -1 nếu không có
+   */
+  public int getTaskIndex(long id) {
+    return lock.readInt(() -> idIndex.indexOf(id));
+  }
+
+  /**
+   * Lấy task tại index (thứ tự lưu trữ, không phải thứ tự hiển thị)
+   * Gọi cho mỗi cell khi vẽ bảng nên không khóa: đọc từ snapshot đã phát hành, hoặc đọc optimistic
    */
   public Task getTask(int index) {
+    TaskSnapshot current = snapshot;
+    if (current != null) {
+      return index >= 0 && index < current.size() ? current.get(index) : null;
+    }
+    return lock.readAt(taskAt, index);
+  }
+
+  private Task taskAt(int index) {
     return isValidIndex(index) ? tasks.get(index) : null;
   }
 
   /**
-   * Lấy tất cả tasks (defensive copy)
+   * Lấy tất cả tasks (snapshot bất biến, xem getSnapshot)
    */
   public List<Task> getAllTasks() {
-    return new ArrayList<>(tasks);
+    return getSnapshot();
+  }
+
+  /**
+   * Snapshot bất biến của phiên bản mới nhất, giữ được lâu mà không thấy thay đổi sau đó
+   * O(1) với store mặc định; store theo cột/ngoài heap chép cả danh sách một lần cho mỗi version
+   */
+  public TaskSnapshot getSnapshot() {
+    TaskSnapshot current = snapshot;
+    if (current != null) {
+      return current;
+    }
+
+    return lock.read(() -> {
+      TaskSnapshot copied = copiedSnapshot;
+      if (copied == null || copied.getVersion() != version) {
+        copied = TaskSnapshot.copyOf(tasks, version);
+        copiedSnapshot = copied; // Các reader song song cùng version chép ra kết quả như nhau
+      }
+      return copied;
+    });
   }
 
   /**
    * Lấy số lượng tasks
    */
   public int getTaskCount() {
-    return tasks.size();
+    return lock.readInt(tasks::size);
   }
 
   /**
    * Kiểm tra có tasks hay không
    */
   public boolean isEmpty() {
-    return tasks.isEmpty();
+    return getTaskCount() == 0;
   }
 
   // ==================== FILE OPERATIONS ====================
 
   /**
-   * Lưu tasks vào file
+   * Lưu tasks vào file (chờ ghi xong)
    */
   public boolean saveTasksToFile() {
-    boolean saved = taskStorage.saveTasksToFile(tasks);
-    if (saved) {
-      hasUnsavedChanges = false;
+    return saveTasksToFileAsync().join();
+  }
+
+  /**
+   * Lưu tasks vào file trên background thread, không chặn thread gọi
+   * Nếu chỉ có ít thay đổi thì chỉ ghi phần delta vào journal, ngược lại ghi toàn bộ snapshot
+   */
+  public CompletableFuture<Boolean> saveTasksToFileAsync() {
+    long stamp = lock.writeLock(); // drain pendingChanges
+    try {
+      return submitPendingChanges();
+    } finally {
+      lock.unlockWrite(stamp);
     }
-    return saved;
   }
 
   /**
    * Tải tasks từ file
    */
   public boolean loadTasksFromFile() {
-    List<Task> loadedTasks = taskStorage.loadTasksFromFile();
+    List<Task> loadedTasks = taskStorage.loadTasksFromFile(); // Đọc file ngoài lock
 
     if (loadedTasks != null) {
-      tasks.clear();
-      tasks.addAll(loadedTasks);
-      hasUnsavedChanges = false;
+      long stamp = lock.writeLock();
+      try {
+        tasks.clear();
+        tasks.addAll(loadedTasks);
+        idIndex.rebuild();
+        nameIndex.rebuild(tasks);
+        attributeIndex.rebuild();
+        dueDateIndex.rebuild(tasks);
+        statistics.rebuild();
+        publish();
+        pendingChanges.reset();
+        markAsSaved();
+      } finally {
+        lock.unlockWrite(stamp);
+      }
       return !loadedTasks.isEmpty();
     }
 
@@ -123,23 +341,85 @@ public class TaskManager {
   }
 
   /**
-   * Lưu danh sách tasks từ UI và đồng bộ với memory
+   * Lưu delta hoặc toàn bộ snapshot tùy số thay đổi đang chờ (gọi khi đang giữ write lock)
    */
-  public boolean saveTasksFromUIList(List<Task> uiTasks) {
-    if (uiTasks == null) {
-      return false;
+  private CompletableFuture<Boolean> submitPendingChanges() {
+    if (pendingChanges.isFullSaveRequired(tasks.size())) {
+      return submitSnapshot(currentSnapshot());
     }
+    return submitChanges();
+  }
 
-    boolean saved = taskStorage.saveTasksToFile(uiTasks);
+  /**
+   * Ghi các thay đổi chưa lưu vào journal, fsync trên background thread
+   * Record được append ngay trên thread gọi để seq của chúng đứng sau mọi snapshot đã gửi trước đó
+   */
+  private CompletableFuture<Boolean> submitChanges() {
+    long version = getChangeVersion();
+    List<TaskChangeSet.Change> changes = pendingChanges.drain();
 
-    if (saved) {
-      // Sync memory with UI data
-      tasks.clear();
-      tasks.addAll(uiTasks);
-      hasUnsavedChanges = false;
+    if (!taskStorage.journalChanges(changes)) {
+      // Journal lỗi, chuyển sang ghi toàn bộ snapshot
+      return submitSnapshot(currentSnapshot());
     }
 
-    return saved;
+    CompletableFuture<Boolean> future = saveService.submitJournalSync()
+        .thenApply(saved -> {
+          if (saved) {
+            markSavedIfUnchanged(version);
+          } else {
+            requireFullSave();
+          }
+          return saved;
+        });
+    compactJournalIfNeeded();
+    return future;
+  }
+
+  /**
+   * Gửi snapshot cho AsyncSaveService, đánh dấu đã lưu nếu không có thay đổi mới trong lúc ghi
+   */
+  private CompletableFuture<Boolean> submitSnapshot(List<Task> snapshot) {
+    long version = getChangeVersion();
+    // Snapshot chứa mọi thay đổi tới thời điểm này
+    pendingChanges.reset();
+    return saveService.submit(snapshot, taskStorage.getJournalSeq())
+        .thenApply(saved -> {
+          if (saved) {
+            markSavedIfUnchanged(version);
+          } else {
+            requireFullSave();
+          }
+          return saved;
+        });
+  }
+
+  /**
+   * Danh sách tasks hiện tại để ghi trên background thread (gọi khi đang giữ write lock)
+   * Dùng snapshot đã phát hành nếu có, ngược lại chép
+   */
+  private List<Task> currentSnapshot() {
+    TaskSnapshot current = snapshot;
+    return current != null ? current : new ArrayList<>(tasks);
+  }
+
+  /**
+   * Compact journal trên background thread khi vượt ngưỡng (gọi khi đang giữ write lock)
+   */
+  private void compactJournalIfNeeded() {
+    // Snapshot compaction không được chứa thay đổi chưa ghi vào journal (sẽ bị replay lặp)
+    if (pendingChanges.isEmpty() && taskStorage.shouldCompactJournal()) {
+      taskStorage.compactJournalAsync(currentSnapshot());
+    }
+  }
+
+  /**
+   * Đóng storage: ghi nốt snapshot đang chờ rồi fsync journal
+   */
+  public void close() {
+    dayBoundaryTimer.stop();
+    saveService.close();
+    taskStorage.closeJournal();
   }
 
   // ==================== CHANGE TRACKING ====================
@@ -147,119 +427,285 @@ public class TaskManager {
   /**
    * Kiểm tra có thay đổi chưa lưu
    */
-  public boolean hasUnsavedChanges() {
+  public synchronized boolean hasUnsavedChanges() {
     return hasUnsavedChanges;
   }
 
   /**
    * Đánh dấu có thay đổi
    */
-  public void markAsChanged() {
+  public synchronized void markAsChanged() {
     hasUnsavedChanges = true;
+    changeVersion++;
   }
 
   /**
    * Đánh dấu đã lưu
    */
-  public void markAsSaved() {
+  public synchronized void markAsSaved() {
     hasUnsavedChanges = false;
   }
 
+  /**
+   * Ghi journal thất bại: thay đổi chỉ còn trong memory, lần lưu sau phải ghi toàn bộ
+   */
+  private void onJournalWrite(boolean appended) {
+    if (!appended) {
+      requireFullSave();
+      markAsChanged();
+    }
+  }
+
+  /**
+   * Lưu thất bại: các thay đổi đã drain không còn được theo dõi, lần sau ghi toàn bộ
+   */
+  private synchronized void requireFullSave() {
+    pendingChanges.requireFullSave();
+    hasUnsavedChanges = true;
+  }
+
+  private synchronized long getChangeVersion() {
+    return changeVersion;
+  }
+
+  /**
+   * Đánh dấu đã lưu nếu không có thay đổi nào sau khi chụp snapshot version
+   */
+  private synchronized void markSavedIfUnchanged(long version) {
+    if (changeVersion == version) {
+      hasUnsavedChanges = false;
+    }
+  }
+
   // ==================== SEARCH & FILTER ====================
 
   /**
-   * Tìm tasks theo tên
+   * Tìm tasks có tên chứa keyword (không phân biệt hoa thường), giữ thứ tự trong danh sách
    */
   public List<Task> findTasksByName(String keyword) {
     if (keyword == null || keyword.trim().isEmpty()) {
       return getAllTasks();
     }
+    return lock.read(() -> getTasksByIds(nameIndex.findSubstring(keyword)));
+  }
 
-    List<Task> results = new ArrayList<>();
-    String searchTerm = keyword.toLowerCase().trim();
-
-    for (Task task : tasks) {
-      if (task.getName().toLowerCase().contains(searchTerm)) {
-        results.add(task);
-      }
+  /**
+   * Tìm tasks có một từ trong tên bắt đầu bằng prefix, giữ thứ tự trong danh sách
+   */
+  public List<Task> findTasksByNamePrefix(String prefix) {
+    if (prefix == null || prefix.trim().isEmpty()) {
+      return getAllTasks();
     }
-
-    return results;
+    return lock.read(() -> getTasksByIds(nameIndex.findTokenPrefix(prefix)));
   }
 
   /**
-   * Lấy tasks theo status
+   * Id các task có tên chứa keyword, thứ tự không xác định
+   * Chạy qua name index nên thời gian tỉ lệ với số kết quả, không cần lock của TaskManager
    */
-  public List<Task> getTasksByStatus(String status) {
-    List<Task> results = new ArrayList<>();
+  public long[] findTaskIdsByName(String keyword) {
+    return nameIndex.findSubstring(keyword);
+  }
 
-    for (Task task : tasks) {
-      if (status.equals(task.getStatus())) {
-        results.add(task);
-      }
+  private List<Task> getTasksByIds(long[] ids) {
+    int[] positions = new int[ids.length];
+    for (int i = 0; i < ids.length; i++) {
+      positions[i] = idIndex.indexOf(ids[i]);
     }
+    Arrays.sort(positions);
 
+    List<Task> results = new ArrayList<>(positions.length);
+    for (int position : positions) {
+      results.add(tasks.get(position));
+    }
     return results;
   }
 
   /**
-   * Lấy tasks theo priority
+   * Lấy tasks theo status
    */
-  public List<Task> getTasksByPriority(String priority) {
-    List<Task> results = new ArrayList<>();
+  public List<Task> getTasksByStatus(Status status) {
+    return lock.read(() -> getTasksAt(attributeIndex.withStatus(status)));
+  }
 
-    for (Task task : tasks) {
-      if (priority.equals(task.getPriority())) {
-        results.add(task);
-      }
-    }
+  /**
+   * Lấy tasks theo priority
+   */
+  public List<Task> getTasksByPriority(Priority priority) {
+    return lock.read(() -> getTasksAt(attributeIndex.withPriority(priority)));
+  }
 
-    return results;
+  /**
+   * Lấy tasks có cả priority và status (giao hai bitmap)
+   */
+  public List<Task> getTasksByPriorityAndStatus(Priority priority, Status status) {
+    return lock.read(() -> getTasksAt(TaskAttributeIndex.intersect(
+        attributeIndex.withPriority(priority), attributeIndex.withStatus(status))));
   }
 
   /**
    * Lấy tasks đã pin
    */
   public List<Task> getPinnedTasks() {
-    List<Task> results = new ArrayList<>();
+    return lock.read(() -> getTasksAt(attributeIndex.pinned()));
+  }
 
-    for (Task task : tasks) {
-      if (task.isPinned()) {
-        results.add(task);
-      }
-    }
+  /**
+   * Lấy tasks có due date, sắp xếp theo due date tăng dần
+   */
+  public List<Task> getTasksByDueDate() {
+    return lock.read(() -> {
+      List<Task> results = new ArrayList<>();
+      dueDateIndex.forEachByDueDate(id -> results.add(idIndex.get(id)));
+      return results;
+    });
+  }
+
+  /**
+   * Lấy tasks có due date trong khoảng [from, to], sắp xếp theo due date
+   */
+  public List<Task> getTasksDueBetween(LocalDate from, LocalDate to) {
+    return lock.read(() -> {
+      List<Task> results = new ArrayList<>();
+      dueDateIndex.forEachDueBetween(from.toEpochDay(), to.toEpochDay(), id -> results.add(idIndex.get(id)));
+      return results;
+    });
+  }
+
+  /**
+   * Lấy tasks due trong tuần hiện tại (theo ngày đầu tuần của locale)
+   */
+  public List<Task> getTasksDueThisWeek() {
+    LocalDate weekStart = LocalDate.now().with(WeekFields.of(Locale.getDefault()).dayOfWeek(), 1);
+    return getTasksDueBetween(weekStart, weekStart.plusDays(6));
+  }
 
+  /**
+   * Tasks có due date trong khoảng [from, to], nhóm theo ngày (tăng dần), chỉ gồm ngày có task
+   */
+  public Map<LocalDate, List<Task>> getTasksByDueDay(LocalDate from, LocalDate to) {
+    return lock.read(() -> {
+      Map<LocalDate, List<Task>> results = new LinkedHashMap<>();
+      dueDateIndex.daysBetween(from.toEpochDay(), to.toEpochDay()).forEach((day, ids) -> {
+        List<Task> dayTasks = new ArrayList<>(ids.size());
+        ids.forEach(id -> dayTasks.add(idIndex.get(id)));
+        results.put(LocalDate.ofEpochDay(day), dayTasks);
+      });
+      return results;
+    });
+  }
+
+  /**
+   * Lấy tasks quá hạn (due trước hôm nay và chưa Completed)
+   */
+  public List<Task> getOverdueTasks() {
+    return lock.read(() -> {
+      List<Task> results = new ArrayList<>(dueDateIndex.overdue().size());
+      dueDateIndex.overdue().forEach(id -> results.add(idIndex.get(id)));
+      return results;
+    });
+  }
+
+  /**
+   * Task có quá hạn không, tra tập quá hạn thay vì tính lại ngày
+   */
+  public boolean isTaskOverdue(long id) {
+    return lock.read(() -> dueDateIndex.overdue().contains(id));
+  }
+
+  /**
+   * Tasks tại các vị trí trong bitmap, giữ thứ tự trong danh sách (gọi trong lock.read)
+   */
+  private List<Task> getTasksAt(BitSet positions) {
+    List<Task> results = new ArrayList<>(positions.cardinality());
+    for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+      results.add(tasks.get(i));
+    }
     return results;
   }
 
   // ==================== STATISTICS ====================
 
+  /**
+   * Bộ đếm thống kê, luôn khớp với danh sách hiện tại
+   */
+  public TaskStatistics getStatistics() {
+    return statistics;
+  }
+
   /**
    * Lấy số tasks theo status
    */
-  public int getTaskCountByStatus(String status) {
-    return (int) tasks.stream()
-        .filter(task -> status.equals(task.getStatus()))
-        .count();
+  public int getTaskCountByStatus(Status status) {
+    return statistics.getCountByStatus(status);
   }
 
   /**
    * Tính phần trăm hoàn thành
    */
   public double getCompletionPercentage() {
-    if (tasks.isEmpty()) {
-      return 0.0;
-    }
+    return statistics.getCompletionPercentage();
+  }
 
-    long completedCount = tasks.stream()
-        .filter(task -> "Completed".equals(task.getStatus()))
-        .count();
+  // ==================== DAY BOUNDARY ====================
 
-    return (completedCount * 100.0) / tasks.size();
+  /**
+   * Đăng ký callback chạy (trên EDT) mỗi khi sang ngày mới, sau khi tập quá hạn đã được làm mới
+   */
+  public void addDayChangeListener(Runnable listener) {
+    dayChangeListeners.add(listener);
+  }
+
+  private void scheduleDayBoundary() {
+    ZonedDateTime now = ZonedDateTime.now();
+    ZonedDateTime nextDay = now.toLocalDate().plusDays(1).atStartOfDay(now.getZone());
+    long delay = Duration.between(now, nextDay).toMillis() + DAY_BOUNDARY_MARGIN_MS;
+    dayBoundaryTimer.setInitialDelay((int) Math.min(delay, Integer.MAX_VALUE));
+    dayBoundaryTimer.restart();
+  }
+
+  private void onDayBoundary() {
+    boolean overdueChanged;
+    long stamp = lock.writeLock();
+    try {
+      overdueChanged = dueDateIndex.advanceDay();
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+
+    if (overdueChanged) {
+      for (Runnable listener : dayChangeListeners) {
+        listener.run();
+      }
+    }
+    scheduleDayBoundary();
   }
 
   // ==================== UTILITY METHODS ====================
 
+  /**
+   * Phát hành phiên bản mới sau mỗi thay đổi (gọi khi đang giữ write lock)
+   * Snapshot trước đó vẫn nguyên vẹn: lần ghi tiếp theo chép đường đi thay vì sửa node dùng chung
+   */
+  private void publish() {
+    version++;
+    if (tasks instanceof PersistentTaskList) {
+      snapshot = ((PersistentTaskList) tasks).snapshot(version);
+    } else {
+      copiedSnapshot = null; // Không giữ bản chép đã cũ trên heap
+    }
+  }
+
+  /**
+   * Chọn nơi lưu tasks theo settings: ngoài heap, theo cột hoặc persistent vector
+   */
+  private static List<Task> createTaskList() {
+    if (UserPreferences.isOffHeapStoreEnabled()) {
+      return new OffHeapTaskList();
+    }
+    return UserPreferences.isColumnarStoreEnabled() ? new ColumnarTaskList() : new PersistentTaskList();
+  }
+
   /**
    * Kiểm tra index hợp lệ
    */
@@ -271,8 +717,9 @@ public class TaskManager {
    * Lấy thông tin debug
    */
   public String getDebugInfo() {
-    return String.format("TaskManager: %d tasks, unsaved: %s",
-        tasks.size(), hasUnsavedChanges);
+    return lock.read(() -> String.format(
+        "TaskManager: %d tasks, version: %d, unsaved: %s, pending changes: %d, journal: %s, store: %s",
+        tasks.size(), version, hasUnsavedChanges, pendingChanges.size(), journalMode, tasks.getClass().getSimpleName()));
   }
 
   @Override
@@ -0,0 +1,543 @@
+package com.todoapp.utils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import com.todoapp.models.Task;
+
+/**
+ * Inverted index trên tên task (không phân biệt hoa thường), cập nhật từng task khi thêm/sửa/xóa
+ * - n-gram (1 đến 3 ký tự): tìm chuỗi con chỉ duyệt posting ngắn nhất của các trigram trong từ khóa
+ * - token (từ trong tên, sắp xếp): tìm theo tiền tố từ chỉ duyệt các từ có tiền tố đó
+ * Mỗi task được gán một số doc nội bộ (tái sử dụng khi xóa) nên posting chỉ là tập int
+ * Các method đều synchronized vì worker tìm kiếm đọc index trong khi EDT cập nhật
+ * Truy vấn dừng sớm và trả mảng rỗng khi thread bị interrupt (tìm kiếm cũ bị hủy), cờ interrupt được giữ nguyên
+ */
+class TaskNameIndex {
+  private static final int MAX_GRAM = 3;
+  private static final int INTERRUPT_CHECK_MASK = 1023; // Kiểm tra interrupt mỗi 1024 doc
+
+  private final Map<Long, Integer> docs = new HashMap<>(); // task id -> doc
+  private long[] docIds = new long[16]; // doc -> task id
+  private String[] docNames = new String[16]; // doc -> tên đã lowercase, null nếu doc trống
+  private int docCount; // Số doc đã cấp (kể cả doc trống)
+  private int[] freeDocs = new int[16];
+  private int freeCount;
+
+  private final GramTable grams = new GramTable();
+  private final TreeMap<String, Postings> tokens = new TreeMap<>();
+
+  // ==================== UPDATES ====================
+
+  synchronized void add(Task task) {
+    long id = task.getId();
+    remove(id);
+
+    int doc = allocateDoc();
+    String name = normalizeName(task.getName());
+    docs.put(id, doc);
+    docIds[doc] = id;
+    docNames[doc] = name;
+    indexName(doc, name, true);
+  }
+
+  /**
+   * Cập nhật tên của task, bỏ qua nếu tên không đổi
+   */
+  synchronized void update(Task task) {
+    Integer doc = docs.get(task.getId());
+    if (doc != null && docNames[doc].equals(normalizeName(task.getName()))) {
+      return;
+    }
+    add(task);
+  }
+
+  synchronized void remove(long id) {
+    Integer doc = docs.remove(id);
+    if (doc == null) {
+      return;
+    }
+
+    indexName(doc, docNames[doc], false);
+    docNames[doc] = null;
+    if (freeCount == freeDocs.length) {
+      freeDocs = Arrays.copyOf(freeDocs, freeCount * 2);
+    }
+    freeDocs[freeCount++] = doc;
+  }
+
+  synchronized void clear() {
+    docs.clear();
+    Arrays.fill(docNames, 0, docCount, null);
+    docCount = 0;
+    freeCount = 0;
+    grams.clear();
+    tokens.clear();
+  }
+
+  /**
+   * Dựng lại index từ danh sách tasks
+   */
+  synchronized void rebuild(List<Task> tasks) {
+    clear();
+    for (Task task : tasks) {
+      add(task);
+    }
+  }
+
+  // ==================== QUERIES ====================
+
+  /**
+   * Id các task có tên chứa keyword (không phân biệt hoa thường), thứ tự không xác định
+   * Từ khóa tối đa 3 ký tự trả thẳng posting của n-gram đó, dài hơn thì lọc posting ngắn nhất
+   * trong các trigram của từ khóa rồi kiểm tra lại bằng contains
+   */
+  synchronized long[] findSubstring(String keyword) {
+    String query = normalizeQuery(keyword);
+    if (query.isEmpty()) {
+      return allIds();
+    }
+
+    if (query.length() <= MAX_GRAM) {
+      Postings postings = grams.get(gramKey(query, 0, query.length()));
+      return postings != null ? toIds(postings) : new long[0];
+    }
+
+    Postings shortest = null;
+    for (int i = 0; i + MAX_GRAM <= query.length(); i++) {
+      Postings postings = grams.get(gramKey(query, i, MAX_GRAM));
+      if (postings == null) {
+        return new long[0];
+      }
+      if (shortest == null || postings.size < shortest.size) {
+        shortest = postings;
+      }
+    }
+
+    int[] candidates = shortest.toArray();
+    long[] result = new long[candidates.length];
+    int count = 0;
+    for (int i = 0; i < candidates.length; i++) {
+      if ((i & INTERRUPT_CHECK_MASK) == 0 && isCancelled()) {
+        return new long[0];
+      }
+      int doc = candidates[i];
+      if (docNames[doc].contains(query)) {
+        result[count++] = docIds[doc];
+      }
+    }
+    return Arrays.copyOf(result, count);
+  }
+
+  /**
+   * Id các task có một từ trong tên bắt đầu bằng prefix, thứ tự không xác định
+   */
+  synchronized long[] findTokenPrefix(String prefix) {
+    String query = normalizeQuery(prefix);
+    if (query.isEmpty()) {
+      return allIds();
+    }
+
+    NavigableMap<String, Postings> matches = tokens.subMap(query, true, query + Character.MAX_VALUE, true);
+    if (matches.size() == 1) {
+      return toIds(matches.firstEntry().getValue());
+    }
+
+    // Một task có thể có nhiều từ cùng tiền tố, gộp qua tập doc để không trùng
+    Postings union = new Postings();
+    for (Postings postings : matches.values()) {
+      if (isCancelled()) {
+        return new long[0];
+      }
+      int[] postingDocs = postings.toArray();
+      for (int i = 0; i < postingDocs.length; i++) {
+        if ((i & INTERRUPT_CHECK_MASK) == INTERRUPT_CHECK_MASK && isCancelled()) {
+          return new long[0];
+        }
+        union.add(postingDocs[i], docCount);
+      }
+    }
+    return toIds(union);
+  }
+
+  synchronized int size() {
+    return docs.size();
+  }
+
+  // ==================== INTERNALS ====================
+
+  private static String normalizeName(String name) {
+    return name != null ? name.toLowerCase() : "";
+  }
+
+  private static String normalizeQuery(String keyword) {
+    return keyword != null ? keyword.toLowerCase().trim() : "";
+  }
+
+  private int allocateDoc() {
+    if (freeCount > 0) {
+      return freeDocs[--freeCount];
+    }
+    if (docCount == docIds.length) {
+      docIds = Arrays.copyOf(docIds, docCount * 2);
+      docNames = Arrays.copyOf(docNames, docCount * 2);
+    }
+    return docCount++;
+  }
+
+  /**
+   * Thêm (hoặc gỡ) doc vào posting của mọi n-gram và token trong tên
+   * Tập posting không chứa trùng nên n-gram lặp lại trong tên không cần lọc trước
+   */
+  private void indexName(int doc, String name, boolean add) {
+    for (int start = 0; start < name.length(); start++) {
+      for (int length = 1; length <= MAX_GRAM && start + length <= name.length(); length++) {
+        long key = gramKey(name, start, length);
+        if (add) {
+          grams.getOrCreate(key).add(doc, docCount);
+        } else {
+          Postings postings = grams.get(key);
+          if (postings != null && postings.remove(doc, docCount) && postings.size == 0) {
+            grams.remove(key);
+          }
+        }
+      }
+    }
+
+    int start = -1;
+    for (int i = 0; i <= name.length(); i++) {
+      boolean tokenChar = i < name.length() && Character.isLetterOrDigit(name.charAt(i));
+      if (tokenChar && start < 0) {
+        start = i;
+      } else if (!tokenChar && start >= 0) {
+        String token = name.substring(start, i);
+        if (add) {
+          tokens.computeIfAbsent(token, k -> new Postings()).add(doc, docCount);
+        } else {
+          Postings postings = tokens.get(token);
+          if (postings != null && postings.remove(doc, docCount) && postings.size == 0) {
+            tokens.remove(token);
+          }
+        }
+        start = -1;
+      }
+    }
+  }
+
+  /**
+   * Mã hóa n-gram (tối đa 3 ký tự 16 bit) thành một long, độ dài ở các bit cao
+   */
+  private static long gramKey(String text, int start, int length) {
+    long key = length;
+    for (int i = 0; i < length; i++) {
+      key = (key << 16) | text.charAt(start + i);
+    }
+    return key;
+  }
+
+  /**
+   * Truy vấn đang chạy đã bị hủy (không xóa cờ interrupt để nơi gọi vẫn thấy)
+   */
+  private static boolean isCancelled() {
+    return Thread.currentThread().isInterrupted();
+  }
+
+  private long[] toIds(Postings postings) {
+    int[] postingDocs = postings.toArray();
+    long[] result = new long[postingDocs.length];
+    for (int i = 0; i < postingDocs.length; i++) {
+      result[i] = docIds[postingDocs[i]];
+    }
+    return result;
+  }
+
+  private long[] allIds() {
+    long[] result = new long[docs.size()];
+    int count = 0;
+    for (int doc = 0; doc < docCount; doc++) {
+      if (docNames[doc] != null) {
+        result[count++] = docIds[doc];
+      }
+    }
+    return result;
+  }
+
+  // ==================== POSTINGS ====================
+
+  /**
+   * Tập doc của một n-gram/token, tự chọn cách lưu theo mật độ:
+   * - thưa: hash set open addressing (lưu doc + 1 để 0 là ô trống), xóa bằng backward shift
+   * - dày (từ 1/16 số doc trở lên): bitset, ví dụ các n-gram 1-2 ký tự phổ biến
+   * Hai ngưỡng chuyển cách xa nhau nên không đổi qua lại liên tục, duyệt luôn tỉ lệ với size
+   */
+  private static final class Postings {
+    private static final int MIN_CAPACITY = 4;
+
+    private int[] table = new int[MIN_CAPACITY]; // null khi ở dạng bitset
+    private long[] bits;
+    int size;
+
+    void add(int doc, int docCount) {
+      if (bits != null) {
+        int word = doc >>> 6;
+        if (word >= bits.length) {
+          int words = Math.max(word + 1, bits.length * 2);
+          if (size < words) {
+            toTable();
+            add(doc, docCount);
+            return;
+          }
+          bits = Arrays.copyOf(bits, words);
+        }
+        long mask = 1L << doc;
+        if ((bits[word] & mask) == 0) {
+          bits[word] |= mask;
+          size++;
+        }
+        return;
+      }
+
+      int value = doc + 1;
+      int mask = table.length - 1;
+      int slot = hash(value) & mask;
+      while (table[slot] != 0) {
+        if (table[slot] == value) {
+          return;
+        }
+        slot = (slot + 1) & mask;
+      }
+      table[slot] = value;
+      size++;
+      if (size * 2 > table.length) {
+        if (size >= 4 * wordCount(docCount)) {
+          toBits(docCount);
+        } else {
+          resize(table.length * 2);
+        }
+      }
+    }
+
+    /**
+     * Xóa doc, trả về true nếu doc có trong tập
+     */
+    boolean remove(int doc, int docCount) {
+      if (bits != null) {
+        int word = doc >>> 6;
+        long mask = 1L << doc;
+        if (word >= bits.length || (bits[word] & mask) == 0) {
+          return false;
+        }
+        bits[word] &= ~mask;
+        size--;
+        if (size < wordCount(docCount)) {
+          toTable();
+        }
+        return true;
+      }
+
+      int value = doc + 1;
+      int mask = table.length - 1;
+      int slot = hash(value) & mask;
+      while (table[slot] != value) {
+        if (table[slot] == 0) {
+          return false;
+        }
+        slot = (slot + 1) & mask;
+      }
+
+      // Backward shift: kéo các phần tử phía sau về để chuỗi dò không bị đứt
+      int hole = slot;
+      int next = (hole + 1) & mask;
+      while (table[next] != 0) {
+        int home = hash(table[next]) & mask;
+        if (((next - home) & mask) >= ((next - hole) & mask)) {
+          table[hole] = table[next];
+          hole = next;
+        }
+        next = (next + 1) & mask;
+      }
+      table[hole] = 0;
+      size--;
+
+      if (table.length > MIN_CAPACITY && size * 8 < table.length) {
+        resize(table.length / 2);
+      }
+      return true;
+    }
+
+    /**
+     * Các doc trong tập (tăng dần nếu đang ở dạng bitset)
+     */
+    int[] toArray() {
+      int[] docs = new int[size];
+      int count = 0;
+      if (bits != null) {
+        for (int word = 0; word < bits.length; word++) {
+          long remaining = bits[word];
+          while (remaining != 0) {
+            docs[count++] = (word << 6) + Long.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+          }
+        }
+      } else {
+        for (int value : table) {
+          if (value != 0) {
+            docs[count++] = value - 1;
+          }
+        }
+      }
+      return docs;
+    }
+
+    private static int wordCount(int docCount) {
+      return (docCount + 63) >>> 6;
+    }
+
+    private void toBits(int docCount) {
+      int[] docs = toArray();
+      bits = new long[Math.max(1, wordCount(docCount))];
+      table = null;
+      for (int doc : docs) {
+        bits[doc >>> 6] |= 1L << doc;
+      }
+    }
+
+    private void toTable() {
+      int[] docs = toArray();
+      int capacity = MIN_CAPACITY;
+      while (capacity < docs.length * 4) {
+        capacity *= 2;
+      }
+      bits = null;
+      table = new int[capacity];
+      insertAll(docs);
+    }
+
+    private void resize(int capacity) {
+      int[] docs = toArray();
+      table = new int[capacity];
+      insertAll(docs);
+    }
+
+    private void insertAll(int[] docs) {
+      int mask = table.length - 1;
+      for (int doc : docs) {
+        int slot = hash(doc + 1) & mask;
+        while (table[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        table[slot] = doc + 1;
+      }
+    }
+
+    private static int hash(int value) {
+      // Trộn đủ bit (murmur3 fmix32): doc được cấp tuần tự nên hash nhân đơn giản dễ dồn cụm
+      int h = value;
+      h ^= h >>> 16;
+      h *= 0x85EBCA6B;
+      h ^= h >>> 13;
+      h *= 0xC2B2AE35;
+      return h ^ (h >>> 16);
+    }
+  }
+
+  // ==================== GRAM TABLE ====================
+
+  /**
+   * Map n-gram key (long) -> Postings, open addressing không boxing, xóa bằng backward shift
+   */
+  private static final class GramTable {
+    private long[] keys = new long[1024];
+    private Postings[] values = new Postings[1024];
+    private int size;
+
+    Postings get(long key) {
+      int mask = keys.length - 1;
+      for (int slot = hash(key) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+        if (keys[slot] == key) {
+          return values[slot];
+        }
+      }
+      return null;
+    }
+
+    Postings getOrCreate(long key) {
+      int mask = keys.length - 1;
+      int slot = hash(key) & mask;
+      for (; values[slot] != null; slot = (slot + 1) & mask) {
+        if (keys[slot] == key) {
+          return values[slot];
+        }
+      }
+
+      Postings postings = new Postings();
+      keys[slot] = key;
+      values[slot] = postings;
+      size++;
+      if (size * 2 > keys.length) {
+        resize(keys.length * 2);
+      }
+      return postings;
+    }
+
+    void remove(long key) {
+      int mask = keys.length - 1;
+      int slot = hash(key) & mask;
+      while (keys[slot] != key) {
+        if (values[slot] == null) {
+          return;
+        }
+        slot = (slot + 1) & mask;
+      }
+      if (values[slot] == null) {
+        return;
+      }
+
+      int hole = slot;
+      int next = (hole + 1) & mask;
+      while (values[next] != null) {
+        int home = hash(keys[next]) & mask;
+        if (((next - home) & mask) >= ((next - hole) & mask)) {
+          keys[hole] = keys[next];
+          values[hole] = values[next];
+          hole = next;
+        }
+        next = (next + 1) & mask;
+      }
+      values[hole] = null;
+      size--;
+    }
+
+    void clear() {
+      Arrays.fill(values, null);
+      size = 0;
+    }
+
+    private void resize(int capacity) {
+      long[] oldKeys = keys;
+      Postings[] oldValues = values;
+      keys = new long[capacity];
+      values = new Postings[capacity];
+      int mask = capacity - 1;
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldValues[i] != null) {
+          int slot = hash(oldKeys[i]) & mask;
+          while (values[slot] != null) {
+            slot = (slot + 1) & mask;
+          }
+          keys[slot] = oldKeys[i];
+          values[slot] = oldValues[i];
+        }
+      }
+    }
+
+    private static int hash(long key) {
+      long h = key * 0x9E3779B97F4A7C15L;
+      return (int) (h ^ (h >>> 32));
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package com.todoapp.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.swing.RowFilter;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.table.TableModel;
+
+import com.todoapp.components.TaskTableModel;
+
+/**
+ * Tìm kiếm task theo tên mà không chặn EDT
+ * Các lần gõ phím liên tiếp được gộp (debounce), tên được tra qua name index (chuỗi con, không phân biệt hoa thường)
+ * trên worker thread, truy vấn cũ bị hủy và chỉ kết quả của truy vấn mới nhất được áp dụng lên bảng (trên EDT)
+ */
+public class TaskSearchService {
+  private static final int DEBOUNCE_DELAY_MS = 200;
+
+  private final TaskTableModel tableModel;
+  private final PinnedRowSorter rowSorter;
+  private final Runnable onFilterApplied;
+  private final Timer debounceTimer;
+  private final ExecutorService searchExecutor;
+
+  // Chỉ truy cập trên EDT
+  private String pendingText = "";
+  private long generation; // Tăng mỗi truy vấn, kết quả của truy vấn cũ bị bỏ qua
+  private Future<?> runningSearch;
+
+  public TaskSearchService(TaskTableModel tableModel, PinnedRowSorter rowSorter, Runnable onFilterApplied) {
+    this.tableModel = tableModel;
+    this.rowSorter = rowSorter;
+    this.onFilterApplied = onFilterApplied;
+
+    this.debounceTimer = new Timer(DEBOUNCE_DELAY_MS, e -> startSearch(pendingText));
+    this.debounceTimer.setRepeats(false);
+
+    this.searchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "task-search-worker");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  // ==================== SEARCH ====================
+
+  /**
+   * Yêu cầu lọc theo text (gọi trên EDT), chỉ chạy sau khi ngừng gõ một khoảng ngắn
+   */
+  public void search(String text) {
+    pendingText = text;
+    debounceTimer.restart();
+  }
+
+  /**
+   * Tra name index trên worker thread, đổi id sang model row trên EDT
+   */
+  private void startSearch(String text) {
+    long searchGeneration = ++generation;
+    cancelRunningSearch();
+
+    if (text.isEmpty()) {
+      applyFilter(null, null);
+      return;
+    }
+
+    RowFilter<TableModel, Integer> filter = TaskTableModel.createNameFilter(text);
+    long modificationCount = tableModel.getModificationCount();
+
+    runningSearch = searchExecutor.submit(() -> {
+      long[] taskIds = tableModel.findTaskIdsByName(text);
+      if (Thread.currentThread().isInterrupted()) {
+        return; // Đã bị hủy
+      }
+
+      SwingUtilities.invokeLater(() -> {
+        if (searchGeneration != generation) {
+          return; // Đã có truy vấn mới hơn
+        }
+        if (modificationCount != tableModel.getModificationCount()) {
+          // Tên task có thể đã đổi trong lúc tìm, kết quả không còn chắc đúng
+          startSearch(text);
+          return;
+        }
+        runningSearch = null;
+        applyFilter(filter, tableModel.getRowMatches(taskIds));
+      });
+    });
+  }
+
+  private void applyFilter(RowFilter<TableModel, Integer> filter, boolean[] matches) {
+    rowSorter.setRowFilter(filter, matches);
+    if (onFilterApplied != null) {
+      onFilterApplied.run();
+    }
+  }
+
+  private void cancelRunningSearch() {
+    if (runningSearch != null) {
+      runningSearch.cancel(true);
+      runningSearch = null;
+    }
+  }
+}
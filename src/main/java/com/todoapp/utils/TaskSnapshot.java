@@ -0,0 +1,86 @@
+package com.todoapp.utils;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+import com.todoapp.models.Task;
+
+/**
+ * Ảnh chụp bất biến danh sách tasks của TaskManager tại một phiên bản
+ * Dùng chung cây với PersistentTaskList nên lấy snapshot không phải chép, giữ được lâu và đọc từ thread nào cũng được
+ * Task bên trong là chính các object của TaskManager (không chép sâu)
+ */
+public final class TaskSnapshot extends AbstractList<Task> implements RandomAccess {
+  private final long version;
+  private final int size;
+  private final int shift;
+  private final PersistentTaskList.Node root;
+  private final Object[] tail;
+
+  TaskSnapshot(long version, int size, int shift, PersistentTaskList.Node root, Object[] tail) {
+    this.version = version;
+    this.size = size;
+    this.shift = shift;
+    this.root = root;
+    this.tail = tail;
+  }
+
+  /**
+   * Chụp bằng cách chép cho các store không chia sẻ cấu trúc được (theo cột, ngoài heap)
+   */
+  static TaskSnapshot copyOf(List<Task> tasks, long version) {
+    PersistentTaskList list = new PersistentTaskList();
+    list.addAll(tasks);
+    return list.snapshot(version);
+  }
+
+  /**
+   * Phiên bản của danh sách lúc chụp, tăng mỗi lần TaskManager thay đổi
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Task get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    return (Task) PersistentTaskList.leafFor(root, shift, tail, size, index)[index & PersistentTaskList.MASK];
+  }
+
+  /**
+   * Duyệt theo từng lá thay vì đi lại từ gốc cho mỗi phần tử
+   */
+  @Override
+  public Iterator<Task> iterator() {
+    return new Iterator<Task>() {
+      private int index;
+      private Object[] leaf;
+
+      @Override
+      public boolean hasNext() {
+        return index < size;
+      }
+
+      @Override
+      public Task next() {
+        if (index >= size) {
+          throw new NoSuchElementException();
+        }
+        if ((index & PersistentTaskList.MASK) == 0 || leaf == null) {
+          leaf = PersistentTaskList.leafFor(root, shift, tail, size, index);
+        }
+        return (Task) leaf[index++ & PersistentTaskList.MASK];
+      }
+    };
+  }
+}
@@ -0,0 +1,96 @@
+package com.todoapp.utils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.todoapp.models.Priority;
+import com.todoapp.models.Status;
+import com.todoapp.models.Task;
+
+/**
+ * Bộ đếm thống kê của TaskManager: tổng số, theo status, theo priority và quá hạn
+ * Cập nhật theo từng thay đổi nên UI đọc số liệu O(1) thay vì duyệt cả bảng
+ * Số quá hạn đọc từ tập quá hạn của due-date index (được làm mới khi sang ngày mới)
+ * TaskManager cập nhật khi đang giữ write lock, bộ đếm đọc optimistic nên gọi được từ thread khác
+ */
+public class TaskStatistics {
+  private final List<Task> tasks;
+  private final TaskDueDateIndex dueDateIndex;
+  private final TaskLock lock;
+  private final int[] statusCounts = new int[Status.values().length]; // Theo ordinal
+  private final int[] priorityCounts = new int[Priority.values().length];
+
+  TaskStatistics(List<Task> tasks, TaskDueDateIndex dueDateIndex, TaskLock lock) {
+    this.tasks = tasks;
+    this.dueDateIndex = dueDateIndex;
+    this.lock = lock;
+    rebuild();
+  }
+
+  // ==================== UPDATES ====================
+
+  /**
+   * Đếm lại toàn bộ sau khi danh sách bị thay đổi trực tiếp
+   */
+  void rebuild() {
+    Arrays.fill(statusCounts, 0);
+    Arrays.fill(priorityCounts, 0);
+    for (Task task : tasks) {
+      count(task, 1);
+    }
+  }
+
+  void added(Task task) {
+    count(task, 1);
+  }
+
+  void removed(Task task) {
+    count(task, -1);
+  }
+
+  void replaced(Task previous, Task task) {
+    count(previous, -1);
+    count(task, 1);
+  }
+
+  private void count(Task task, int delta) {
+    statusCounts[task.getStatus().ordinal()] += delta;
+    priorityCounts[task.getPriority().ordinal()] += delta;
+  }
+
+  // ==================== COUNTERS ====================
+
+  public int getTotalCount() {
+    return lock.readInt(tasks::size);
+  }
+
+  public int getCountByStatus(Status status) {
+    return lock.readInt(() -> statusCounts[status.ordinal()]);
+  }
+
+  public int getCountByPriority(Priority priority) {
+    return lock.readInt(() -> priorityCounts[priority.ordinal()]);
+  }
+
+  public int getCompletedCount() {
+    return getCountByStatus(Status.COMPLETED);
+  }
+
+  /**
+   * Số task chưa hoàn thành có due date trước hôm nay
+   */
+  public int getOverdueCount() {
+    return lock.readInt(() -> dueDateIndex.overdue().size());
+  }
+
+  /**
+   * Phần trăm task đã hoàn thành (0 nếu chưa có task)
+   */
+  public double getCompletionPercentage() {
+    // Đọc tổng và số completed trong cùng một lần đọc để tỉ lệ nhất quán
+    return lock.read(() -> {
+      int total = tasks.size();
+      return total > 0 ? statusCounts[Status.COMPLETED.ordinal()] * 100.0 / total : 0.0;
+    });
+  }
+}
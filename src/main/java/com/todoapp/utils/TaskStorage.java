@@ -1,36 +1,88 @@
 package com.todoapp.utils;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
-import java.text.ParseException;
+import java.nio.file.StandardOpenOption;
 import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
+import com.todoapp.models.Priority;
+import com.todoapp.models.Status;
 import com.todoapp.models.Task;
 
 /**
  * Quản lý việc lưu trữ và tải dữ liệu tasks từ file
- * Sử dụng format: TaskName|DueDate|Priority|Status|IsPinned
+ * Sử dụng format: TaskName|DueDate|Priority|Status|IsPinned|Id
+ * Snapshot có thể lưu dạng nhị phân (data.bin) thay cho dạng text
  */
 public class TaskStorage {
   private static final String DATA_FILENAME = "data/data.txt"; // Thay đổi để bao gồm thư mục data
-  private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd");
+  private static final String BINARY_FILENAME = "data/data.bin";
+  private static final String JOURNAL_SEQ_HEADER = "# Journal-Seq: ";
+  private static final int JOURNAL_COMPACT_RECORDS = 10000; // Ngưỡng số record để compact
+  private static final long JOURNAL_COMPACT_BYTES = 4L * 1024 * 1024; // Ngưỡng kích thước journal
+  private static final long MAPPED_LOAD_THRESHOLD = 8L * 1024 * 1024; // File lớn hơn dùng loader map
+  private static final long PARALLEL_LOAD_THRESHOLD = 64L * 1024 * 1024; // File lớn hơn parse song song
+  private static final int BACKUP_GENERATIONS = 3; // Số bản backup data.txt được giữ lại
+  /**
+   * Định dạng dùng khi ghi snapshot
+   */
+  public enum SnapshotFormat {
+    TEXT, BINARY
+  }
+
+  /**
+   * Cách đọc data.txt
+   * AUTO chọn PARALLEL/MAPPED cho file lớn, STANDARD cho file nhỏ
+   */
+  public enum LoadMode {
+    AUTO, STANDARD, MAPPED, PARALLEL
+  }
+
   private final File dataFile;
+  private final File binaryFile;
+  private final SnapshotFormat snapshotFormat;
+  private final TaskJournal journal;
+  private final Object snapshotLock = new Object();
+  private ExecutorService compactionExecutor;
+  private volatile boolean compactionRunning;
+  private long latestSnapshotSeq;
+  private long checkpointSeq; // Seq mới nhất trong header các snapshot lúc tải, journal đã bị cắt tới đây
+  private LoadMode loadMode = LoadMode.AUTO;
 
   public TaskStorage() {
+    this(UserPreferences.getSnapshotFormat());
+  }
+
+  public TaskStorage(SnapshotFormat snapshotFormat) {
     // Tạo đường dẫn tới src/main/resources/data/data.txt
     String projectDir = System.getProperty("user.dir");
     String resourcesPath = "src/main/resources/" + DATA_FILENAME;
     this.dataFile = new File(projectDir, resourcesPath);
+    this.binaryFile = new File(projectDir, "src/main/resources/" + BINARY_FILENAME);
+    this.snapshotFormat = snapshotFormat;
+    this.journal = new TaskJournal(new File(dataFile.getAbsolutePath() + ".journal"));
     setupDataFile();
   }
 
@@ -50,14 +102,14 @@ public class TaskStorage {
         System.out.println("TaskStorage: Tạo thư mục data: " + (created ? "thành công" : "thất bại"));
       }
 
-      // Tạo file nếu chưa tồn tại
-      if (!dataFile.exists()) {
+      // Tạo file nếu chưa tồn tại (không tạo khi đã có snapshot nhị phân)
+      if (!dataFile.exists() && !binaryFile.exists()) {
         boolean created = dataFile.createNewFile();
         if (created) {
           System.out.println("TaskStorage: Tạo file data.txt mới");
           createEmptyDataFile();
         }
-      } else {
+      } else if (dataFile.exists()) {
         System.out.println("TaskStorage: File data.txt đã tồn tại, kích thước: " + dataFile.length() + " bytes");
       }
     } catch (IOException e) {
@@ -72,7 +124,7 @@ public class TaskStorage {
   private void createEmptyDataFile() {
     try (PrintWriter writer = new PrintWriter(dataFile, "UTF-8")) {
       writer.println("# Todo List App Data");
-      writer.println("# Format: TaskName|DueDate|Priority|Status|IsPinned");
+      writer.println("# Format: TaskName|DueDate|Priority|Status|IsPinned|Id");
       writer.println("# Created: " + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()));
       writer.println();
       System.out.println("TaskStorage: Đã tạo file với header");
@@ -87,6 +139,14 @@ public class TaskStorage {
    * Lưu danh sách tasks vào file
    */
   public boolean saveTasksToFile(List<Task> tasks) {
+    return saveTasksToFile(tasks, journal.getLastSeq());
+  }
+
+  /**
+   * Lưu snapshot tasks đã chụp tại journal seq snapshotSeq
+   * Dùng cho lưu bất đồng bộ: journal chỉ bị cắt tới snapshotSeq, các record mới hơn được giữ lại
+   */
+  public boolean saveTasksToFile(List<Task> tasks, long snapshotSeq) {
     if (tasks == null) {
       System.err.println("TaskStorage: Danh sách task null");
       return false;
@@ -94,34 +154,105 @@ public class TaskStorage {
 
     System.out.println("TaskStorage: Đang lưu " + tasks.size() + " task vào: " + dataFile.getAbsolutePath());
 
-    // Backup file hiện tại
-    createBackup();
+    synchronized (snapshotLock) {
+      // Một snapshot mới hơn đã được ghi (compaction), không ghi đè bằng dữ liệu cũ
+      if (snapshotSeq < latestSnapshotSeq) {
+        System.out.println("TaskStorage: Bỏ qua snapshot cũ (seq " + snapshotSeq + ")");
+        return true;
+      }
+
+      try {
+        int savedCount;
+        if (snapshotFormat == SnapshotFormat.BINARY) {
+          savedCount = writeBinarySnapshot(tasks, snapshotSeq);
+        } else {
+          savedCount = writeTextSnapshot(tasks, snapshotSeq, true);
+        }
+
+        System.out.println("TaskStorage: Đã lưu " + savedCount + " task thành công");
+
+        // Snapshot đã chứa mọi thay đổi trong journal
+        latestSnapshotSeq = snapshotSeq;
+        journal.checkpoint(snapshotSeq);
+        journal.discardRotated(snapshotSeq);
+        return savedCount >= 0; // Cho phép lưu 0 task (xóa hết)
+
+      } catch (IOException e) {
+        System.err.println("TaskStorage: Lỗi khi lưu tasks: " + e.getMessage());
+        e.printStackTrace();
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Ghi snapshot dạng text ra file tạm, fsync rồi rename đè lên data.txt (atomic)
+   * data.txt cũ được giữ lại làm backup bằng hard link thay vì copy
+   */
+  private int writeTextSnapshot(List<Task> tasks, long snapshotSeq, boolean keepBackup) throws IOException {
+    File tempFile = new File(dataFile.getAbsolutePath() + ".tmp");
+
+    try {
+      int savedCount;
+      try (FileOutputStream output = new FileOutputStream(tempFile, false);
+          BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+        writeHeader(writer, snapshotSeq);
+        savedCount = writeTasks(writer, tasks);
+        writer.flush();
+        output.getFD().sync();
+      }
+
+      if (keepBackup) {
+        rotateBackups();
+      }
+
+      Files.move(tempFile.toPath(), dataFile.toPath(),
+          StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      syncDirectory(dataFile.getParentFile());
+      return savedCount;
+
+    } catch (IOException e) {
+      tempFile.delete();
+      throw e;
+    }
+  }
+
+  /**
+   * Ghi snapshot nhị phân ra file tạm, fsync rồi rename đè lên data.bin (atomic)
+   */
+  private int writeBinarySnapshot(List<Task> tasks, long snapshotSeq) throws IOException {
+    File tempFile = new File(binaryFile.getAbsolutePath() + ".tmp");
 
-    try (BufferedWriter writer = new BufferedWriter(new FileWriter(dataFile, false))) {
-      writeHeader(writer);
-      int savedCount = writeTasks(writer, tasks);
+    try {
+      int savedCount;
+      try (FileOutputStream output = new FileOutputStream(tempFile, false)) {
+        savedCount = TaskBinaryFormat.write(new BufferedOutputStream(output, 1 << 16), tasks, snapshotSeq);
+        output.getFD().sync();
+      }
 
-      writer.flush();
-      System.out.println("TaskStorage: Đã lưu " + savedCount + " task thành công");
-      return savedCount >= 0; // Cho phép lưu 0 task (xóa hết)
+      Files.move(tempFile.toPath(), binaryFile.toPath(),
+          StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      syncDirectory(binaryFile.getParentFile());
+      return savedCount;
 
     } catch (IOException e) {
-      System.err.println("TaskStorage: Lỗi khi lưu tasks: " + e.getMessage());
-      e.printStackTrace();
-      return false;
+      tempFile.delete();
+      throw e;
     }
   }
 
   /**
    * Ghi header vào file
    */
-  private void writeHeader(BufferedWriter writer) throws IOException {
+  private void writeHeader(BufferedWriter writer, long snapshotSeq) throws IOException {
     writer.write("# Todo List App Data");
     writer.newLine();
-    writer.write("# Format: TaskName|DueDate|Priority|Status|IsPinned");
+    writer.write("# Format: TaskName|DueDate|Priority|Status|IsPinned|Id");
     writer.newLine();
     writer.write("# Generated: " + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()));
     writer.newLine();
+    writer.write(JOURNAL_SEQ_HEADER + snapshotSeq);
+    writer.newLine();
     writer.newLine();
   }
 
@@ -156,18 +287,16 @@ public class TaskStorage {
     line.append(taskName).append("|");
 
     // Due date
-    if (task.getDueDate() != null) {
-      line.append(DATE_FORMAT.format(task.getDueDate()));
+    if (task.hasDueDate()) {
+      line.append(Task.formatDueDay(task.getDueDay()));
     }
     line.append("|");
 
     // Priority, Status, Pinned
-    String priority = task.getPriority() != null ? task.getPriority() : "Medium";
-    String status = task.getStatus() != null ? task.getStatus() : "Pending";
-
-    line.append(priority).append("|")
-        .append(status).append("|")
-        .append(task.isPinned());
+    line.append(task.getPriority().getLabel()).append("|")
+        .append(task.getStatus().getLabel()).append("|")
+        .append(task.isPinned()).append("|")
+        .append(task.getId());
 
     return line.toString();
   }
@@ -183,24 +312,52 @@ public class TaskStorage {
 
   /**
    * Tải danh sách tasks từ file
+   * Snapshot trong data.txt được tải trước, sau đó replay journal lên trên
    */
   public List<Task> loadTasksFromFile() {
+    long binarySeq = readBinarySnapshotSeq();
+    long textSeq = readTextSnapshotSeq();
+    checkpointSeq = Math.max(binarySeq, textSeq);
+
+    if (shouldLoadBinarySnapshot(binarySeq, textSeq)) {
+      List<Task> binaryTasks = loadBinarySnapshot();
+      if (binaryTasks != null) {
+        return binaryTasks;
+      }
+      System.err.println("TaskStorage: Không đọc được snapshot nhị phân, thử snapshot text");
+    }
+
     List<Task> tasks = new ArrayList<>();
+    long snapshotSeq = 0;
 
     System.out.println("TaskStorage: Đang tải dữ liệu từ: " + dataFile.getAbsolutePath());
 
     if (!dataFile.exists()) {
       System.out.println("TaskStorage: File không tồn tại");
+      replayJournal(tasks, snapshotSeq);
       return tasks;
     }
 
-    try (BufferedReader reader = new BufferedReader(new FileReader(dataFile))) {
+    LoadMode mode = resolveLoadMode();
+    if (mode == LoadMode.MAPPED || mode == LoadMode.PARALLEL) {
+      List<Task> mappedTasks = loadMappedSnapshot(mode == LoadMode.PARALLEL);
+      if (mappedTasks != null) {
+        return mappedTasks;
+      }
+    }
+
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(dataFile), StandardCharsets.UTF_8))) {
       String line;
       int lineNumber = 0;
 
       while ((line = reader.readLine()) != null) {
         lineNumber++;
 
+        if (line.startsWith(JOURNAL_SEQ_HEADER)) {
+          snapshotSeq = parseJournalSeq(line);
+          continue;
+        }
+
         // Skip comments và empty lines
         if (isCommentOrEmpty(line)) {
           continue;
@@ -219,14 +376,126 @@ public class TaskStorage {
       e.printStackTrace();
     }
 
+    replayJournal(tasks, snapshotSeq);
     return tasks;
   }
 
+  /**
+   * Chọn snapshot có journal seq cao hơn (data.txt vẫn đọc được khi chuyển lại format text)
+   * Thời gian sửa file chỉ dùng khi hai seq bằng nhau: mtime có thể chỉ chính xác tới giây hoặc đổi khi copy/restore
+   */
+  private boolean shouldLoadBinarySnapshot(long binarySeq, long textSeq) {
+    if (binarySeq < 0) {
+      return false;
+    }
+    if (binarySeq != textSeq) {
+      return binarySeq > textSeq;
+    }
+    return binaryFile.lastModified() >= dataFile.lastModified();
+  }
+
+  /**
+   * Journal seq trong header của data.bin, -1 nếu không có file hoặc header không đọc được
+   */
+  private long readBinarySnapshotSeq() {
+    if (!binaryFile.exists() || binaryFile.length() == 0) {
+      return -1;
+    }
+    try (InputStream input = new FileInputStream(binaryFile)) {
+      return TaskBinaryFormat.readJournalSeq(input);
+    } catch (IOException e) {
+      System.err.println("TaskStorage: Không đọc được header snapshot nhị phân: " + e.getMessage());
+      return -1;
+    }
+  }
+
+  /**
+   * Journal seq trong header của data.txt, 0 nếu file cũ không có header, -1 nếu không có file
+   */
+  private long readTextSnapshotSeq() {
+    if (!dataFile.exists()) {
+      return -1;
+    }
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(dataFile), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null && isCommentOrEmpty(line)) {
+        if (line.startsWith(JOURNAL_SEQ_HEADER)) {
+          return parseJournalSeq(line);
+        }
+      }
+    } catch (IOException e) {
+      System.err.println("TaskStorage: Không đọc được header data.txt: " + e.getMessage());
+    }
+    return 0;
+  }
+
+  /**
+   * Tải snapshot nhị phân rồi replay journal, trả về null nếu file hỏng
+   */
+  private List<Task> loadBinarySnapshot() {
+    System.out.println("TaskStorage: Đang tải snapshot nhị phân từ: " + binaryFile.getAbsolutePath());
+
+    try (InputStream input = new BufferedInputStream(new FileInputStream(binaryFile), 1 << 16)) {
+      TaskBinaryFormat.Snapshot snapshot = TaskBinaryFormat.read(input, binaryFile.length());
+      List<Task> tasks = snapshot.getTasks();
+      System.out.println("TaskStorage: Đã tải " + tasks.size() + " task thành công");
+
+      replayJournal(tasks, snapshot.getJournalSeq());
+      return tasks;
+
+    } catch (IOException e) {
+      System.err.println("TaskStorage: Lỗi khi tải snapshot nhị phân: " + e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Chọn cách đọc data.txt theo LoadMode và kích thước file
+   */
+  private LoadMode resolveLoadMode() {
+    if (loadMode != LoadMode.AUTO) {
+      return loadMode;
+    }
+
+    long size = dataFile.length();
+    if (size >= PARALLEL_LOAD_THRESHOLD && ForkJoinPool.commonPool().getParallelism() > 1) {
+      return LoadMode.PARALLEL;
+    }
+    return size >= MAPPED_LOAD_THRESHOLD ? LoadMode.MAPPED : LoadMode.STANDARD;
+  }
+
+  /**
+   * Tải data.txt qua FileChannel.map (tuần tự hoặc song song) rồi replay journal
+   * Trả về null nếu không map được
+   */
+  private List<Task> loadMappedSnapshot(boolean parallel) {
+    try {
+      long startTime = System.currentTimeMillis();
+      MappedTaskLoader loader = new MappedTaskLoader();
+      MappedTaskLoader.Result result = parallel
+          ? loader.loadParallel(dataFile, ForkJoinPool.commonPool())
+          : loader.load(dataFile);
+      if (result == null) {
+        return null;
+      }
+
+      System.out.println("TaskStorage: Đã tải " + result.tasks.size() + " task ("
+          + (parallel ? "parallel" : "mapped") + ") trong " + (System.currentTimeMillis() - startTime) + " ms");
+
+      replayJournal(result.tasks, result.journalSeq);
+      return result.tasks;
+
+    } catch (IOException e) {
+      System.err.println("TaskStorage: Không thể map file, dùng loader thường: " + e.getMessage());
+      return null;
+    }
+  }
+
   /**
    * Parse dòng text thành Task object
    */
   private Task parseTaskLine(String line, int lineNumber) {
-    String[] parts = line.split("\\|", -1); // -1 để giữ empty strings
+    String[] parts = line.split("(?<!\\\\)\\|", -1); // -1 để giữ empty strings, bỏ qua "\|" đã escape
 
     if (parts.length < 4) {
       System.err.println("TaskStorage: Định dạng dòng không hợp lệ tại dòng " + lineNumber + ": " + line);
@@ -235,11 +504,13 @@ public class TaskStorage {
 
     try {
       String name = unescapeString(parts[0]);
-      String priority = parts[2].isEmpty() ? "Medium" : parts[2];
-      String status = parts[3].isEmpty() ? "Pending" : parts[3];
+      // Chuỗi cũ (khác hoa thường, không chuẩn) được parse về enum, không nhận ra thì lấy mặc định
+      Priority priority = Priority.parse(parts[2]);
+      Status status = Status.parse(parts[3]);
       boolean isPinned = parts.length >= 5 ? Boolean.parseBoolean(parts[4]) : false;
 
       Task task = new Task(name);
+      task.setId(parts.length >= 6 ? parseId(parts[5]) : Task.NO_ID);
       task.setPriority(priority);
       task.setStatus(status);
       task.setPinned(isPinned);
@@ -247,8 +518,8 @@ public class TaskStorage {
       // Parse due date
       if (!parts[1].isEmpty()) {
         try {
-          task.setDueDate(DATE_FORMAT.parse(parts[1]));
-        } catch (ParseException e) {
+          task.setDueDay(Task.parseDueDay(parts[1]));
+        } catch (DateTimeException e) {
           System.err.println("TaskStorage: Định dạng ngày không hợp lệ tại dòng " + lineNumber + ": " + parts[1]);
         }
       }
@@ -261,6 +532,312 @@ public class TaskStorage {
     }
   }
 
+  // ==================== JOURNAL OPERATIONS ====================
+
+  /**
+   * Ghi journal: thêm task
+   */
+  public boolean journalTaskAdded(Task task) {
+    return journal.append(TaskJournal.Op.ADD, formatTaskLine(task));
+  }
+
+  /**
+   * Ghi journal: cập nhật task (id nằm trong dòng task)
+   */
+  public boolean journalTaskUpdated(Task task) {
+    return journal.append(TaskJournal.Op.UPDATE_BY_ID, formatTaskLine(task));
+  }
+
+  /**
+   * Ghi journal: xóa task theo id
+   */
+  public boolean journalTaskDeleted(long id) {
+    return journal.append(TaskJournal.Op.DELETE_BY_ID, String.valueOf(id));
+  }
+
+  /**
+   * Ghi journal: thay đổi trạng thái pin của task theo id
+   */
+  public boolean journalTaskPinned(long id, boolean pinned) {
+    return journal.append(TaskJournal.Op.PIN_BY_ID, id + "|" + pinned);
+  }
+
+  /**
+   * Ghi journal: xóa tất cả tasks
+   */
+  public boolean journalTasksCleared() {
+    return journal.append(TaskJournal.Op.CLEAR, "");
+  }
+
+  /**
+   * Ghi các thay đổi chưa lưu (delta) vào journal thay cho việc ghi lại toàn bộ snapshot
+   * Trả về false nếu có record không ghi được, khi đó cần lưu toàn bộ
+   */
+  boolean journalChanges(List<TaskChangeSet.Change> changes) {
+    for (TaskChangeSet.Change change : changes) {
+      boolean appended;
+      switch (change.getKind()) {
+        case INSERT:
+          appended = journalTaskAdded(change.getTask());
+          break;
+        case UPDATE:
+          appended = journalTaskUpdated(change.getTask());
+          break;
+        case PIN:
+          appended = journalTaskPinned(change.getId(), change.isPinned());
+          break;
+        case DELETE:
+          appended = journalTaskDeleted(change.getId());
+          break;
+        case CLEAR:
+          appended = journalTasksCleared();
+          break;
+        default:
+          appended = false;
+      }
+      if (!appended) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * fsync các record journal đang chờ
+   */
+  public boolean syncJournal() {
+    return journal.sync();
+  }
+
+  /**
+   * Seq của record journal mới nhất (dùng để chụp snapshot kèm seq)
+   */
+  public long getJournalSeq() {
+    return journal.getLastSeq();
+  }
+
+  /**
+   * Đóng journal và fsync các record còn chờ
+   * Chờ compaction đang chạy hoàn tất trước khi đóng
+   */
+  public void closeJournal() {
+    if (compactionExecutor != null) {
+      compactionExecutor.shutdown();
+      try {
+        compactionExecutor.awaitTermination(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    journal.close();
+  }
+
+  // ==================== JOURNAL COMPACTION ====================
+
+  /**
+   * Kiểm tra journal đã vượt ngưỡng số record hoặc kích thước chưa
+   */
+  public boolean shouldCompactJournal() {
+    return !compactionRunning
+        && (journal.getRecordCount() >= JOURNAL_COMPACT_RECORDS || journal.getJournalSize() >= JOURNAL_COMPACT_BYTES);
+  }
+
+  /**
+   * Gộp journal vào snapshot mới trên background thread
+   * snapshot phải là bản sao danh sách tasks tại thời điểm gọi (không bị sửa sau đó)
+   * Journal được rotate ngay tại đây để snapshot và seq khớp nhau, ghi mới tiếp tục vào journal rỗng
+   */
+  public void compactJournalAsync(List<Task> snapshot) {
+    if (compactionRunning) {
+      return;
+    }
+
+    long snapshotSeq = journal.rotate();
+    if (snapshotSeq < 0) {
+      return;
+    }
+
+    compactionRunning = true;
+    getCompactionExecutor().execute(() -> {
+      try {
+        writeCompactedSnapshot(snapshot, snapshotSeq);
+      } finally {
+        compactionRunning = false;
+      }
+    });
+  }
+
+  /**
+   * Ghi snapshot ra file tạm, fsync rồi rename đè lên data.txt (atomic)
+   */
+  private void writeCompactedSnapshot(List<Task> snapshot, long snapshotSeq) {
+    synchronized (snapshotLock) {
+      // Một lần lưu đầy đủ mới hơn đã thay thế snapshot này
+      if (snapshotSeq < latestSnapshotSeq) {
+        journal.discardRotated(snapshotSeq);
+        return;
+      }
+
+      long startTime = System.currentTimeMillis();
+
+      try {
+        int savedCount;
+        if (snapshotFormat == SnapshotFormat.BINARY) {
+          savedCount = writeBinarySnapshot(snapshot, snapshotSeq);
+          latestSnapshotSeq = snapshotSeq;
+          journal.discardRotated(snapshotSeq);
+          System.out.println("TaskStorage: Compaction xong " + savedCount + " task (seq " + snapshotSeq + ") trong "
+              + (System.currentTimeMillis() - startTime) + " ms");
+          return;
+        }
+
+        savedCount = writeTextSnapshot(snapshot, snapshotSeq, false);
+        latestSnapshotSeq = snapshotSeq;
+        journal.discardRotated(snapshotSeq);
+
+        System.out.println("TaskStorage: Compaction xong " + savedCount + " task (seq " + snapshotSeq + ") trong "
+            + (System.currentTimeMillis() - startTime) + " ms");
+
+      } catch (IOException e) {
+        System.err.println("TaskStorage: Lỗi khi compact journal: " + e.getMessage());
+      }
+    }
+  }
+
+  private synchronized ExecutorService getCompactionExecutor() {
+    if (compactionExecutor == null) {
+      compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-journal-compactor");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+      });
+    }
+    return compactionExecutor;
+  }
+
+  /**
+   * Replay các record journal mới hơn snapshot lên danh sách tasks
+   */
+  private void replayJournal(List<Task> tasks, long snapshotSeq) {
+    synchronized (snapshotLock) {
+      latestSnapshotSeq = snapshotSeq;
+    }
+    journal.setLastSeq(snapshotSeq);
+    List<TaskJournal.Record> records = journal.readRecords(snapshotSeq);
+
+    // Journal đã bị cắt tới snapshot mới nhất, replay từ snapshot cũ hơn sẽ thiếu các thay đổi ở giữa
+    long firstSeq = records.isEmpty() ? -1 : records.get(0).getSeq();
+    if (snapshotSeq < checkpointSeq || firstSeq > snapshotSeq + 1) {
+      System.err.println("TaskStorage: CẢNH BÁO: snapshot đã tải (seq " + snapshotSeq
+          + ") cũ hơn checkpoint của journal (seq " + Math.max(checkpointSeq, firstSeq - 1)
+          + "), các thay đổi ở giữa không còn trong journal và sẽ bị mất");
+    }
+
+    // Cấp id cho task chưa có id (file cũ) trước khi replay các record theo id
+    TaskIdIndex idIndex = new TaskIdIndex(tasks);
+
+    if (records.isEmpty()) {
+      return;
+    }
+
+    int applied = 0;
+    for (TaskJournal.Record record : records) {
+      if (applyJournalRecord(tasks, idIndex, record)) {
+        applied++;
+      }
+    }
+
+    System.out.println("TaskStorage: Đã replay " + applied + "/" + records.size() + " record từ journal");
+  }
+
+  /**
+   * Áp dụng một record journal lên danh sách tasks
+   */
+  private boolean applyJournalRecord(List<Task> tasks, TaskIdIndex idIndex, TaskJournal.Record record) {
+    String payload = record.getPayload();
+    int lineNumber = record.getLineNumber();
+
+    try {
+      switch (record.getOp()) {
+        case ADD: {
+          Task task = parseTaskLine(payload, lineNumber);
+          if (task == null) {
+            return false;
+          }
+          idIndex.add(task);
+          return true;
+        }
+        case UPDATE_BY_ID: {
+          Task task = parseTaskLine(payload, lineNumber);
+          return task != null && idIndex.set(task.getId(), task);
+        }
+        case DELETE_BY_ID:
+          return idIndex.remove(Long.parseLong(payload)) != null;
+        case PIN_BY_ID: {
+          int sep = payload.indexOf('|');
+          Task task = idIndex.get(Long.parseLong(payload.substring(0, sep)));
+          if (task == null) {
+            return false;
+          }
+          task.setPinned(Boolean.parseBoolean(payload.substring(sep + 1)));
+          return true;
+        }
+        case UPDATE: {
+          // Journal cũ: theo index
+          int sep = payload.indexOf('|');
+          int index = Integer.parseInt(payload.substring(0, sep));
+          Task task = parseTaskLine(payload.substring(sep + 1), lineNumber);
+          if (task == null || index < 0 || index >= tasks.size()) {
+            return false;
+          }
+          idIndex.set(tasks.get(index).getId(), task);
+          return true;
+        }
+        case DELETE: {
+          // Journal cũ: theo index, các task phía sau bị dịch lên
+          int index = Integer.parseInt(payload);
+          if (index < 0 || index >= tasks.size()) {
+            return false;
+          }
+          tasks.remove(index);
+          idIndex.rebuild();
+          return true;
+        }
+        case PIN: {
+          // Journal cũ: theo index
+          int sep = payload.indexOf('|');
+          int index = Integer.parseInt(payload.substring(0, sep));
+          if (index < 0 || index >= tasks.size()) {
+            return false;
+          }
+          tasks.get(index).setPinned(Boolean.parseBoolean(payload.substring(sep + 1)));
+          return true;
+        }
+        case CLEAR:
+          idIndex.clear();
+          return true;
+        default:
+          return false;
+      }
+    } catch (RuntimeException e) {
+      System.err.println("TaskStorage: Lỗi khi replay journal tại dòng " + lineNumber + ": " + e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Đọc seq của journal từ header snapshot
+   */
+  private long parseJournalSeq(String line) {
+    try {
+      return Long.parseLong(line.substring(JOURNAL_SEQ_HEADER.length()).trim());
+    } catch (NumberFormatException e) {
+      System.err.println("TaskStorage: Journal-Seq không hợp lệ: " + line);
+      return 0;
+    }
+  }
+
   // ==================== UTILITY METHODS ====================
 
   /**
@@ -271,6 +848,17 @@ public class TaskStorage {
     return trimmed.isEmpty() || trimmed.startsWith("#");
   }
 
+  /**
+   * Parse id task, file cũ/sửa tay không có id hợp lệ thì để TaskIdIndex cấp id mới
+   */
+  private long parseId(String text) {
+    try {
+      return Long.parseLong(text.trim());
+    } catch (NumberFormatException e) {
+      return Task.NO_ID;
+    }
+  }
+
   /**
    * Unescape string (đảo ngược escape)
    */
@@ -279,17 +867,58 @@ public class TaskStorage {
   }
 
   /**
-   * Tạo backup file
+   * Dịch các bản backup: .backup -> .backup.2 -> ... -> .backup.N (bản cũ nhất bị xóa)
+   * data.txt hiện tại trở thành .backup qua hard link, không phải copy nội dung
    */
-  private void createBackup() {
-    if (dataFile.exists() && dataFile.length() > 0) {
+  private void rotateBackups() {
+    if (!dataFile.exists() || dataFile.length() == 0) {
+      return;
+    }
+
+    try {
+      Files.deleteIfExists(getBackupFile(BACKUP_GENERATIONS).toPath());
+      for (int generation = BACKUP_GENERATIONS - 1; generation >= 1; generation--) {
+        File backupFile = getBackupFile(generation);
+        if (backupFile.exists()) {
+          Files.move(backupFile.toPath(), getBackupFile(generation + 1).toPath(),
+              StandardCopyOption.REPLACE_EXISTING);
+        }
+      }
+
+      File backupFile = getBackupFile(1);
       try {
-        File backupFile = new File(dataFile.getAbsolutePath() + ".backup");
+        Files.createLink(backupFile.toPath(), dataFile.toPath());
+      } catch (UnsupportedOperationException | IOException e) {
+        // File system không hỗ trợ hard link
         Files.copy(dataFile.toPath(), backupFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-        System.out.println("TaskStorage: Đã tạo backup tại: " + backupFile.getAbsolutePath());
-      } catch (IOException e) {
-        System.err.println("TaskStorage: Không thể tạo backup: " + e.getMessage());
       }
+      System.out.println("TaskStorage: Đã tạo backup tại: " + backupFile.getAbsolutePath());
+
+    } catch (IOException e) {
+      System.err.println("TaskStorage: Không thể tạo backup: " + e.getMessage());
+    }
+  }
+
+  /**
+   * File backup thế hệ thứ generation (1 là mới nhất)
+   */
+  private File getBackupFile(int generation) {
+    String suffix = generation == 1 ? ".backup" : ".backup." + generation;
+    return new File(dataFile.getAbsolutePath() + suffix);
+  }
+
+  /**
+   * fsync thư mục để thao tác rename được ghi bền xuống đĩa
+   * Một số hệ điều hành (Windows) không cho mở thư mục, khi đó bỏ qua
+   */
+  private static void syncDirectory(File directory) {
+    if (directory == null) {
+      return;
+    }
+    try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+      channel.force(true);
+    } catch (IOException e) {
+      // Không hỗ trợ fsync thư mục
     }
   }
 
@@ -297,11 +926,22 @@ public class TaskStorage {
    * Kiểm tra file data có tồn tại không
    */
   public boolean dataFileExists() {
-    boolean exists = dataFile.exists() && dataFile.length() > 0;
+    boolean exists = (dataFile.exists() && dataFile.length() > 0) || (binaryFile.exists() && binaryFile.length() > 0);
     System.out.println("TaskStorage: File tồn tại và có dữ liệu: " + exists);
     return exists;
   }
 
+  /**
+   * Cách đọc data.txt (mặc định AUTO)
+   */
+  public LoadMode getLoadMode() {
+    return loadMode;
+  }
+
+  public void setLoadMode(LoadMode loadMode) {
+    this.loadMode = loadMode;
+  }
+
   /**
    * Lấy đường dẫn file data
    */
@@ -341,7 +981,7 @@ public class TaskStorage {
       return false;
     }
 
-    try (BufferedReader reader = new BufferedReader(new FileReader(dataFile))) {
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(dataFile), StandardCharsets.UTF_8))) {
       String line;
       int validLines = 0;
       int totalDataLines = 0;
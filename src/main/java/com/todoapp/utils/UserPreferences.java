@@ -11,6 +11,18 @@ public class UserPreferences {
   // Auto-fill today's date setting
   private static final String AUTO_FILL_TODAY = "auto_fill_today";
 
+  // Journal mode: ghi từng thay đổi vào journal thay vì ghi lại toàn bộ file
+  private static final String JOURNAL_MODE = "journal_mode";
+
+  // Định dạng snapshot: TEXT (data.txt) hoặc BINARY (data.bin)
+  private static final String SNAPSHOT_FORMAT = "snapshot_format";
+
+  // Lưu tasks trong bộ nhớ theo cột (mảng primitive) thay vì ArrayList<Task>
+  private static final String COLUMNAR_STORE = "columnar_store";
+
+  // Lưu tasks ngoài heap (direct ByteBuffer), ưu tiên hơn columnar store nếu bật cả hai
+  private static final String OFF_HEAP_STORE = "off_heap_store";
+
   public static boolean isAutoFillTodayEnabled() {
     return prefs.getBoolean(AUTO_FILL_TODAY, true); // Default: enabled
   }
@@ -18,4 +30,41 @@ public class UserPreferences {
   public static void setAutoFillToday(boolean enabled) {
     prefs.putBoolean(AUTO_FILL_TODAY, enabled);
   }
+
+  public static boolean isJournalModeEnabled() {
+    return prefs.getBoolean(JOURNAL_MODE, false); // Default: disabled
+  }
+
+  public static void setJournalMode(boolean enabled) {
+    prefs.putBoolean(JOURNAL_MODE, enabled);
+  }
+
+  public static TaskStorage.SnapshotFormat getSnapshotFormat() {
+    String value = prefs.get(SNAPSHOT_FORMAT, TaskStorage.SnapshotFormat.TEXT.name());
+    try {
+      return TaskStorage.SnapshotFormat.valueOf(value);
+    } catch (IllegalArgumentException e) {
+      return TaskStorage.SnapshotFormat.TEXT; // Default: text
+    }
+  }
+
+  public static void setSnapshotFormat(TaskStorage.SnapshotFormat format) {
+    prefs.put(SNAPSHOT_FORMAT, format.name());
+  }
+
+  public static boolean isColumnarStoreEnabled() {
+    return prefs.getBoolean(COLUMNAR_STORE, false); // Default: disabled
+  }
+
+  public static void setColumnarStore(boolean enabled) {
+    prefs.putBoolean(COLUMNAR_STORE, enabled);
+  }
+
+  public static boolean isOffHeapStoreEnabled() {
+    return prefs.getBoolean(OFF_HEAP_STORE, false); // Default: disabled
+  }
+
+  public static void setOffHeapStore(boolean enabled) {
+    prefs.putBoolean(OFF_HEAP_STORE, enabled);
+  }
 }
\ No newline at end of file
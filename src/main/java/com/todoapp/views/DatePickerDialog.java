@@ -10,6 +10,7 @@ import java.awt.GridLayout;
 import java.awt.Insets;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
@@ -32,7 +33,12 @@ import javax.swing.ListSelectionModel;
 import javax.swing.SwingConstants;
 import javax.swing.border.CompoundBorder;
 import javax.swing.border.TitledBorder;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
+
+import com.todoapp.models.Priority;
+import com.todoapp.models.Status;
+import com.todoapp.models.Task;
+import com.todoapp.utils.TaskManager;
 
 /**
  * Calendar dialog hiển thị tasks theo ngày
@@ -62,7 +68,8 @@ public class DatePickerDialog extends JDialog {
 
   // ==================== DATA ====================
   private final Calendar calendar;
-  private final DefaultTableModel tableModel;
+  private final TableModel tableModel; // null khi đọc từ TaskManager
+  private final TaskManager taskManager; // null khi đọc từ TableModel
   private final Map<String, List<TaskInfo>> dateTaskMap;
 
   /**
@@ -70,26 +77,40 @@ public class DatePickerDialog extends JDialog {
    */
   private static class TaskInfo {
     final String name;
-    final String priority;
-    final String status;
+    final Priority priority;
+    final Status status;
 
-    TaskInfo(String name, String priority, String status) {
+    TaskInfo(String name, Priority priority, Status status) {
       this.name = name;
       this.priority = priority;
       this.status = status;
     }
   }
 
-  public DatePickerDialog(JFrame parent, DefaultTableModel tableModel) {
+  public DatePickerDialog(JFrame parent, TableModel tableModel) {
+    this(parent, tableModel, null);
+  }
+
+  /**
+   * Calendar đọc tasks từ due-date index của TaskManager, mỗi lần chỉ lấy tasks của tháng đang xem
+   */
+  public DatePickerDialog(JFrame parent, TaskManager taskManager) {
+    this(parent, null, taskManager);
+  }
+
+  private DatePickerDialog(JFrame parent, TableModel tableModel, TaskManager taskManager) {
     super(parent, "Calendar View", true);
     this.tableModel = tableModel;
+    this.taskManager = taskManager;
     this.calendar = Calendar.getInstance();
     this.dateTaskMap = new HashMap<>();
 
     initializeDialog();
     buildUI();
     setupEventHandlers();
-    loadTaskData();
+    if (taskManager == null) {
+      loadTaskData();
+    }
     updateCalendar();
   }
 
@@ -352,8 +373,9 @@ public class DatePickerDialog extends JDialog {
     for (int i = 0; i < tableModel.getRowCount(); i++) {
       String taskName = (String) tableModel.getValueAt(i, 0);
       String dueDate = (String) tableModel.getValueAt(i, 1);
-      String priority = (String) tableModel.getValueAt(i, 2);
-      String status = (String) tableModel.getValueAt(i, 3);
+      // Model có thể chứa enum (TaskTableModel) hoặc chuỗi (DefaultTableModel)
+      Priority priority = Priority.parse(String.valueOf(tableModel.getValueAt(i, 2)));
+      Status status = Status.parse(String.valueOf(tableModel.getValueAt(i, 3)));
 
       if (isValidDate(dueDate)) {
         TaskInfo task = new TaskInfo(taskName, priority, status);
@@ -362,6 +384,23 @@ public class DatePickerDialog extends JDialog {
     }
   }
 
+  /**
+   * Load tasks của tháng đang xem từ TaskManager, ngày được format một lần cho mỗi ngày có task
+   */
+  private void loadMonthTaskData() {
+    dateTaskMap.clear();
+
+    LocalDate firstDay = LocalDate.of(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1, 1);
+    LocalDate lastDay = firstDay.plusMonths(1).minusDays(1);
+    taskManager.getTasksByDueDay(firstDay, lastDay).forEach((day, tasks) -> {
+      List<TaskInfo> infos = new ArrayList<>(tasks.size());
+      for (Task task : tasks) {
+        infos.add(new TaskInfo(task.getName(), task.getPriority(), task.getStatus()));
+      }
+      dateTaskMap.put(day.toString(), infos); // ISO yyyy-MM-dd, giống DATE_FORMAT
+    });
+  }
+
   /**
    * Kiểm tra date hợp lệ
    */
@@ -384,6 +423,9 @@ public class DatePickerDialog extends JDialog {
    * Cập nhật calendar display
    */
   private void updateCalendar() {
+    if (taskManager != null) {
+      loadMonthTaskData();
+    }
     calendarPanel.removeAll();
 
     updateMonthYearLabel();
@@ -569,8 +611,8 @@ public class DatePickerDialog extends JDialog {
     }
 
     private Color getIndicatorColor(List<TaskInfo> tasks) {
-      boolean hasHigh = tasks.stream().anyMatch(t -> "High".equals(t.priority));
-      boolean hasIncomplete = tasks.stream().anyMatch(t -> !"Completed".equals(t.status));
+      boolean hasHigh = tasks.stream().anyMatch(t -> t.priority == Priority.HIGH);
+      boolean hasIncomplete = tasks.stream().anyMatch(t -> t.status != Status.COMPLETED);
 
       if (hasHigh)
         return HIGH_PRIORITY_COLOR;
@@ -28,7 +28,6 @@ import java.io.PrintWriter;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.LinkedHashSet;
 import java.util.List;
 
 import javax.swing.BorderFactory;
@@ -48,27 +47,29 @@ import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
 import javax.swing.JScrollPane;
 import javax.swing.JSeparator;
-import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.KeyStroke;
 import javax.swing.ListSelectionModel;
-import javax.swing.RowFilter;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import javax.swing.filechooser.FileNameExtensionFilter;
-import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableModel;
-import javax.swing.table.TableRowSorter;
 
+import com.todoapp.components.TaskCellRenderer;
 import com.todoapp.components.TaskTable;
+import com.todoapp.components.TaskTableModel;
 import com.todoapp.controllers.TaskController;
+import com.todoapp.models.Priority;
+import com.todoapp.models.Status;
 import com.todoapp.models.Task;
+import com.todoapp.utils.OrderedLongSet;
 import com.todoapp.utils.PinnedRowSorter;
 import com.todoapp.utils.TaskManager;
+import com.todoapp.utils.TaskSearchService;
+import com.todoapp.utils.TaskStatistics;
+import com.todoapp.utils.TaskStorage;
 import com.todoapp.utils.UserPreferences;
 
 /**
@@ -80,11 +81,11 @@ public class MainWindow extends JFrame {
   private TaskManager taskManager;
 
   private TaskTable taskTable;
-  private DefaultTableModel tableModel;
+  private TaskTableModel tableModel;
   private JButton addButton, editButton, deleteButton, sortButton, calendarButton, progressButton;
-  private LinkedHashSet<Integer> pinnedTaskRows = new LinkedHashSet<>();
-  private TableRowSorter<TableModel> mainRowSorter;
-  private int hoveredRow = -1;
+  private final OrderedLongSet pinnedTaskIds = new OrderedLongSet(); // Id các task đã pin theo thứ tự pin
+  private PinnedRowSorter mainRowSorter;
+  private TaskSearchService taskSearch;
   private JLabel taskCountLabel;
   private JTextField searchField;
 
@@ -123,21 +124,16 @@ public class MainWindow extends JFrame {
    * Đồng bộ tasks từ TaskManager lên UI
    */
   private void syncTasksFromManagerToUI() {
-    DefaultTableModel model = (DefaultTableModel) taskTable.getModel();
-    model.setRowCount(0);
+    pinnedTaskIds.clear();
 
-    List<Task> allTasks = taskManager.getAllTasks();
-
-    for (Task task : allTasks) {
-      String dueDate = task.getDueDate() != null ? new SimpleDateFormat("yyyy-MM-dd").format(task.getDueDate()) : "";
-
-      model.addRow(new Object[] {
-          task.getName(),
-          dueDate,
-          task.getPriority(),
-          task.getStatus()
-      });
+    for (Task task : taskManager.getSnapshot()) {
+      if (task.isPinned()) {
+        pinnedTaskIds.add(task.getId());
+      }
     }
+
+    // Model đọc trực tiếp từ TaskManager, chỉ cần báo bảng đọc lại
+    tableModel.fireTableDataChanged();
   }
 
   private void initUI() {
@@ -215,7 +211,49 @@ public class MainWindow extends JFrame {
           "Settings", JOptionPane.INFORMATION_MESSAGE);
     });
 
+    JCheckBoxMenuItem journalModeItem = new JCheckBoxMenuItem("Journal mode (ghi log thay đổi)");
+    journalModeItem.setSelected(UserPreferences.isJournalModeEnabled());
+    journalModeItem.addActionListener(e -> {
+      UserPreferences.setJournalMode(journalModeItem.isSelected());
+      JOptionPane.showMessageDialog(this,
+          "Setting saved. Will take effect after restart.",
+          "Settings", JOptionPane.INFORMATION_MESSAGE);
+    });
+
+    JCheckBoxMenuItem binarySnapshotItem = new JCheckBoxMenuItem("Binary snapshot (data.bin)");
+    binarySnapshotItem.setSelected(UserPreferences.getSnapshotFormat() == TaskStorage.SnapshotFormat.BINARY);
+    binarySnapshotItem.addActionListener(e -> {
+      UserPreferences.setSnapshotFormat(binarySnapshotItem.isSelected()
+          ? TaskStorage.SnapshotFormat.BINARY
+          : TaskStorage.SnapshotFormat.TEXT);
+      JOptionPane.showMessageDialog(this,
+          "Setting saved. Will take effect after restart.",
+          "Settings", JOptionPane.INFORMATION_MESSAGE);
+    });
+
+    JCheckBoxMenuItem columnarStoreItem = new JCheckBoxMenuItem("Columnar store (danh sách rất lớn)");
+    columnarStoreItem.setSelected(UserPreferences.isColumnarStoreEnabled());
+    columnarStoreItem.addActionListener(e -> {
+      UserPreferences.setColumnarStore(columnarStoreItem.isSelected());
+      JOptionPane.showMessageDialog(this,
+          "Setting saved. Will take effect after restart.",
+          "Settings", JOptionPane.INFORMATION_MESSAGE);
+    });
+
+    JCheckBoxMenuItem offHeapStoreItem = new JCheckBoxMenuItem("Off-heap store (lưu tasks ngoài heap)");
+    offHeapStoreItem.setSelected(UserPreferences.isOffHeapStoreEnabled());
+    offHeapStoreItem.addActionListener(e -> {
+      UserPreferences.setOffHeapStore(offHeapStoreItem.isSelected());
+      JOptionPane.showMessageDialog(this,
+          "Setting saved. Will take effect after restart.",
+          "Settings", JOptionPane.INFORMATION_MESSAGE);
+    });
+
     settingsMenu.add(autoFillTodayItem);
+    settingsMenu.add(journalModeItem);
+    settingsMenu.add(binarySnapshotItem);
+    settingsMenu.add(columnarStoreItem);
+    settingsMenu.add(offHeapStoreItem);
 
     JMenuItem exitItem = new JMenuItem("Thoát", KeyEvent.VK_X);
     exitItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Q, InputEvent.CTRL_DOWN_MASK));
@@ -235,22 +273,7 @@ public class MainWindow extends JFrame {
    * Refresh task table với dữ liệu từ TaskManager
    */
   private void refreshTaskTable() {
-    tableModel.setRowCount(0);
-
-    List<Task> allTasks = taskManager.getAllTasks();
-    for (Task task : allTasks) {
-      Object[] rowData = {
-          task.getName(),
-          task.getDueDate() != null ? new SimpleDateFormat("yyyy-MM-dd").format(task.getDueDate()) : "",
-          task.getPriority(),
-          task.getStatus()
-      };
-      tableModel.addRow(rowData);
-
-      if (task.isPinned()) {
-        pinnedTaskRows.add(tableModel.getRowCount() - 1);
-      }
-    }
+    syncTasksFromManagerToUI();
 
     taskTable.repaint();
     updateTaskCount();
@@ -394,33 +417,20 @@ public class MainWindow extends JFrame {
   }
 
   private void performSearch() {
-    if (mainRowSorter == null)
+    if (taskSearch == null)
       return;
 
-    String searchText = searchField.getText().toLowerCase().trim();
-
-    try {
-      if (searchText.isEmpty()) {
-        mainRowSorter.setRowFilter(null);
-      } else {
-        mainRowSorter.setRowFilter(RowFilter.regexFilter("(?i)" + searchText, 0));
-      }
-    } catch (Exception e) {
-      mainRowSorter.setRowFilter(null);
-    }
-
-    updateTaskCount();
+    // Lọc trên worker thread sau khi ngừng gõ, task count được cập nhật khi filter được áp dụng
+    taskSearch.search(searchField.getText().toLowerCase().trim());
   }
 
   private void createTaskListPanel() {
-    tableModel = new DefaultTableModel();
-    tableModel.addColumn("Task");
-    tableModel.addColumn("Due Date");
-    tableModel.addColumn("Priority");
-    tableModel.addColumn("Status");
+    tableModel = new TaskTableModel(taskManager);
 
     taskTable = new TaskTable();
     taskTable.setModel(tableModel);
+    // Id chỉ dùng để tra task trong TaskManager, không hiển thị
+    taskTable.removeColumn(taskTable.getColumnModel().getColumn(TaskTable.ID_COLUMN));
 
     // Table properties
     taskTable.setRowHeight(30);
@@ -444,86 +454,17 @@ public class MainWindow extends JFrame {
       taskTable.getColumnModel().getColumn(i).setCellRenderer(null);
     }
 
-    // Default cell renderer với color coding
-    DefaultTableCellRenderer defaultRenderer = new DefaultTableCellRenderer() {
-      @Override
-      public Component getTableCellRendererComponent(JTable table, Object value,
-          boolean isSelected, boolean hasFocus, int row, int column) {
-
-        Component c = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
-
-        if (isSelected) {
-          c.setBackground(new Color(173, 216, 230));
-          c.setForeground(Color.BLACK);
-        } else if (row == hoveredRow) {
-          c.setBackground(new Color(240, 248, 255));
-          c.setForeground(Color.BLACK);
-        } else {
-          c.setBackground(table.getBackground());
-          c.setForeground(table.getForeground());
-
-          if (column == 2) { // Priority
-            String priority = value != null ? value.toString() : "";
-            switch (priority) {
-              case "High":
-                c.setBackground(new Color(255, 200, 200));
-                break;
-              case "Medium":
-                c.setBackground(new Color(255, 235, 200));
-                break;
-              case "Low":
-                c.setBackground(new Color(220, 255, 220));
-                break;
-            }
-          } else if (column == 3) { // Status
-            String status = value != null ? value.toString() : "";
-            switch (status) {
-              case "Completed":
-                c.setBackground(new Color(200, 230, 255));
-                break;
-              case "In Progress":
-                c.setBackground(new Color(230, 220, 255));
-                break;
-              case "Pending":
-                c.setBackground(new Color(240, 240, 240));
-                break;
-            }
-          }
-        }
-
-        if (column == 2 || column == 3) {
-          ((JLabel) c).setHorizontalAlignment(SwingConstants.CENTER);
-        }
-
-        return c;
-      }
-    };
-
-    taskTable.setDefaultRenderer(Object.class, defaultRenderer);
+    // Renderer dựng sẵn màu/text, không cấp phát khi vẽ từng cell
+    taskTable.setDefaultRenderer(Object.class, new TaskCellRenderer(false, false, null, null));
 
     // Pin icon renderer cho task name column
-    taskTable.getColumnModel().getColumn(0).setCellRenderer(new DefaultTableCellRenderer() {
-      @Override
-      public Component getTableCellRendererComponent(JTable table, Object value,
-          boolean isSelected, boolean hasFocus, int row, int column) {
-
-        JLabel label = (JLabel) defaultRenderer.getTableCellRendererComponent(
-            table, value, isSelected, hasFocus, row, column);
-
-        int modelRow = table.convertRowIndexToModel(row);
-        if (pinnedTaskRows.contains(modelRow)) {
-          label.setIcon(UIManager.getIcon("FileView.floppyDriveIcon"));
-          label.setText("📌 " + value);
-        } else {
-          label.setIcon(null);
-        }
+    taskTable.getColumnModel().getColumn(0).setCellRenderer(new TaskCellRenderer(true, false, null, null));
+    taskTable.updatePinnedTasks(pinnedTaskIds);
 
-        return label;
-      }
-    });
-
-    mainRowSorter = new PinnedRowSorter(tableModel, (TaskTable) taskTable, pinnedTaskRows);
+    mainRowSorter = new PinnedRowSorter(tableModel, taskTable, pinnedTaskIds);
     taskTable.setRowSorter(mainRowSorter);
+    taskSearch = new TaskSearchService(tableModel, mainRowSorter, this::updateTaskCount);
+    taskManager.addDayChangeListener(this::updateTaskCount); // Số quá hạn đổi lúc sang ngày mới
 
     setupMouseListeners();
     addSampleTasks();
@@ -553,7 +494,7 @@ public class MainWindow extends JFrame {
 
           JPopupMenu popup = new JPopupMenu();
           JMenuItem pinItem = new JMenuItem(
-              pinnedTaskRows.contains(modelRow) ? "Unpin Task" : "Pin Task to Top");
+              pinnedTaskIds.contains(getTaskId(modelRow)) ? "Unpin Task" : "Pin Task to Top");
 
           JMenuItem editItem = new JMenuItem("Edit Task");
           JMenuItem deleteItem = new JMenuItem("Delete Task");
@@ -564,7 +505,13 @@ public class MainWindow extends JFrame {
           deleteItem.addActionListener(evt -> deleteTask());
 
           completeItem.addActionListener(evt -> {
-            tableModel.setValueAt("Completed", modelRow, 3);
+            long taskId = getTaskId(modelRow);
+            Task task = taskManager.getTaskById(taskId);
+            if (task != null) {
+              Task completedTask = new Task(task.getName(), task.getDueDay(),
+                  task.getPriority(), Status.COMPLETED, task.isPinned());
+              tableModel.updateTask(taskId, completedTask);
+            }
             updateTaskCount();
           });
 
@@ -589,7 +536,7 @@ public class MainWindow extends JFrame {
 
       @Override
       public void mouseExited(MouseEvent e) {
-        hoveredRow = -1;
+        taskTable.setHoveredRow(-1);
         taskTable.repaint();
       }
     });
@@ -599,8 +546,8 @@ public class MainWindow extends JFrame {
       @Override
       public void mouseMoved(MouseEvent e) {
         int row = taskTable.rowAtPoint(e.getPoint());
-        if (row != hoveredRow) {
-          hoveredRow = row;
+        if (row != taskTable.getHoveredRow()) {
+          taskTable.setHoveredRow(row);
           taskTable.repaint();
         }
       }
@@ -682,37 +629,29 @@ public class MainWindow extends JFrame {
   }
 
   /**
-   * Cập nhật task count label với thống kê
+   * Cập nhật task count label với thống kê (đọc từ bộ đếm của TaskManager, không duyệt bảng)
    */
   public void updateTaskCount() {
-    int totalTasks = taskTable.getRowCount();
-    int completedTasks = 0;
-
-    DefaultTableModel model = (DefaultTableModel) taskTable.getModel();
-    for (int i = 0; i < model.getRowCount(); i++) {
-      String status = (String) model.getValueAt(i, 3);
-      if ("Completed".equals(status)) {
-        completedTasks++;
-      }
-    }
+    TaskStatistics statistics = taskManager.getStatistics();
+    int totalTasks = statistics.getTotalCount();
+    int completedTasks = statistics.getCompletedCount();
+    int overdueTasks = statistics.getOverdueCount();
 
     // Cập nhật task count label nếu có
     if (taskCountLabel != null) {
       taskCountLabel.setText(totalTasks + " tasks, " + completedTasks + " completed (" +
-          (totalTasks > 0 ? (completedTasks * 100 / totalTasks) : 0) + "%)");
+          (totalTasks > 0 ? (completedTasks * 100 / totalTasks) : 0) + "%)" +
+          (overdueTasks > 0 ? ", " + overdueTasks + " overdue" : ""));
     }
   }
 
   public void togglePinTask(int modelRow) {
-    if (pinnedTaskRows.contains(modelRow)) {
-      pinnedTaskRows.remove(modelRow);
-    } else {
-      pinnedTaskRows.add(modelRow);
-    }
-
-    if (mainRowSorter != null && mainRowSorter instanceof PinnedRowSorter) {
-      ((PinnedRowSorter) mainRowSorter).applySorting();
+    long taskId = getTaskId(modelRow);
+    if (!pinnedTaskIds.remove(taskId)) {
+      pinnedTaskIds.add(taskId);
     }
+    // Event cập nhật dòng đưa task về đúng vị trí trong sorter
+    tableModel.setTaskPinned(taskId, pinnedTaskIds.contains(taskId));
     taskTable.repaint();
   }
 
@@ -720,7 +659,7 @@ public class MainWindow extends JFrame {
 
   private void addTask() {
     // Để empty string cho dueDate để trigger auto-fill today
-    TaskDialog dialog = new TaskDialog(this, "Add New Task", "", "", "Medium", "Pending");
+    TaskDialog dialog = new TaskDialog(this, "Add New Task", "", "", Priority.DEFAULT, Status.DEFAULT);
     dialog.setVisible(true);
 
     if (dialog.isConfirmed()) {
@@ -729,11 +668,7 @@ public class MainWindow extends JFrame {
       newTask.setPriority(dialog.getPriority());
       newTask.setStatus(dialog.getStatus());
 
-      taskManager.addTask(newTask);
-
-      tableModel.addRow(new Object[] {
-          dialog.getTaskName(), dialog.getDueDate(), dialog.getPriority(), dialog.getStatus()
-      });
+      tableModel.addTask(newTask);
       updateTaskCount();
     }
   }
@@ -745,8 +680,8 @@ public class MainWindow extends JFrame {
 
       String currentTask = (String) tableModel.getValueAt(modelRow, 0);
       String currentDate = (String) tableModel.getValueAt(modelRow, 1);
-      String currentPriority = (String) tableModel.getValueAt(modelRow, 2);
-      String currentStatus = (String) tableModel.getValueAt(modelRow, 3);
+      Priority currentPriority = (Priority) tableModel.getValueAt(modelRow, 2);
+      Status currentStatus = (Status) tableModel.getValueAt(modelRow, 3);
 
       TaskDialog dialog = new TaskDialog(this, "Edit Task",
           currentTask, currentDate, currentPriority, currentStatus);
@@ -757,14 +692,9 @@ public class MainWindow extends JFrame {
         updatedTask.setDueDate(dialog.getDueDateObject());
         updatedTask.setPriority(dialog.getPriority());
         updatedTask.setStatus(dialog.getStatus());
-        updatedTask.setPinned(pinnedTaskRows.contains(modelRow));
-
-        taskManager.updateTask(modelRow, updatedTask);
+        updatedTask.setPinned(pinnedTaskIds.contains(getTaskId(modelRow)));
 
-        tableModel.setValueAt(dialog.getTaskName(), modelRow, 0);
-        tableModel.setValueAt(dialog.getDueDate(), modelRow, 1);
-        tableModel.setValueAt(dialog.getPriority(), modelRow, 2);
-        tableModel.setValueAt(dialog.getStatus(), modelRow, 3);
+        tableModel.updateTask(getTaskId(modelRow), updatedTask);
         updateTaskCount();
       }
     } else {
@@ -786,18 +716,12 @@ public class MainWindow extends JFrame {
           JOptionPane.QUESTION_MESSAGE);
 
       if (confirm == JOptionPane.YES_OPTION) {
-        taskManager.deleteTask(modelRow);
+        long taskId = getTaskId(modelRow);
+        pinnedTaskIds.remove(taskId);
+        tableModel.deleteTask(taskId);
 
-        pinnedTaskRows.remove(modelRow);
-
-        for (Integer pinnedRow : new ArrayList<>(pinnedTaskRows)) {
-          if (pinnedRow > modelRow) {
-            pinnedTaskRows.remove(pinnedRow);
-            pinnedTaskRows.add(pinnedRow - 1);
-          }
-        }
-
-        tableModel.removeRow(modelRow);
+        // Task cuối được chuyển vào dòng vừa xóa, không để nó bị chọn thay
+        taskTable.clearSelection();
         updateTaskCount();
       }
     } else {
@@ -820,7 +744,7 @@ public class MainWindow extends JFrame {
   }
 
   private void showCalendarDialog() {
-    DatePickerDialog dialog = new DatePickerDialog(this, tableModel);
+    DatePickerDialog dialog = new DatePickerDialog(this, taskManager);
     dialog.setVisible(true);
   }
 
@@ -828,25 +752,11 @@ public class MainWindow extends JFrame {
    * Hiển thị progress dialog với thống kê và visualization
    */
   private void showProgressDialog() {
-    int total = tableModel.getRowCount();
-    int completed = 0;
-    int inProgress = 0;
-    int pending = 0;
-
-    for (int i = 0; i < total; i++) {
-      String status = (String) tableModel.getValueAt(i, 3);
-      switch (status) {
-        case "Completed":
-          completed++;
-          break;
-        case "In Progress":
-          inProgress++;
-          break;
-        case "Pending":
-          pending++;
-          break;
-      }
-    }
+    TaskStatistics statistics = taskManager.getStatistics();
+    int total = statistics.getTotalCount();
+    int completed = statistics.getCompletedCount();
+    int inProgress = statistics.getCountByStatus(Status.IN_PROGRESS);
+    int pending = statistics.getCountByStatus(Status.PENDING);
 
     double percentage = total > 0 ? (completed * 100.0 / total) : 0;
 
@@ -962,17 +872,17 @@ public class MainWindow extends JFrame {
         for (int i = 0; i < tableModel.getRowCount(); i++) {
           String task = (String) tableModel.getValueAt(i, 0);
           String dueDate = (String) tableModel.getValueAt(i, 1);
-          String priority = (String) tableModel.getValueAt(i, 2);
-          String status = (String) tableModel.getValueAt(i, 3);
+          Priority priority = (Priority) tableModel.getValueAt(i, 2);
+          Status status = (Status) tableModel.getValueAt(i, 3);
 
           task = task.replace("|", "\\|");
 
           writer.println(task + "|" + dueDate + "|" + priority + "|" + status);
 
           total++;
-          if ("Completed".equals(status)) {
+          if (status == Status.COMPLETED) {
             completed++;
-          } else if ("In Progress".equals(status)) {
+          } else if (status == Status.IN_PROGRESS) {
             inProgress++;
           } else {
             pending++;
@@ -1050,15 +960,22 @@ public class MainWindow extends JFrame {
             options[1]);
 
         if (response == JOptionPane.YES_OPTION) {
-          while (tableModel.getRowCount() > 0) {
-            tableModel.removeRow(0);
-          }
-          pinnedTaskRows.clear();
+          pinnedTaskIds.clear();
+          tableModel.clearTasks();
         }
 
+        List<Task> newTasks = new ArrayList<>(importedTasks.size());
         for (String[] task : importedTasks) {
-          tableModel.addRow(task);
+          Task importedTask = new Task(task[0], Task.NO_DUE_DATE,
+              Priority.parse(task[2]), Status.parse(task[3]), false);
+          try {
+            importedTask.setDueDay(Task.parseDueDay(task[1]));
+          } catch (java.time.DateTimeException e) {
+            // Giữ task không có ngày như khi lưu từ UI
+          }
+          newTasks.add(importedTask);
         }
+        tableModel.addTasks(newTasks);
 
         updateTaskCount();
 
@@ -1084,6 +1001,21 @@ public class MainWindow extends JFrame {
     return this.taskManager;
   }
 
+  public OrderedLongSet getPinnedTaskIds() {
+    return pinnedTaskIds;
+  }
+
+  public TaskTableModel getTableModel() {
+    return tableModel;
+  }
+
+  /**
+   * Id của task tại model row
+   */
+  private long getTaskId(int modelRow) {
+    return tableModel.getTaskId(modelRow);
+  }
+
   private void initializeTaskData() {
     refreshTaskTable();
   }
@@ -1092,10 +1024,13 @@ public class MainWindow extends JFrame {
    * Manual save data (Ctrl+S)
    */
   private void saveData() {
-    boolean saved = taskManager.saveTasksToFile();
-    String message = saved ? "Đã lưu dữ liệu thành công" : "Không thể lưu dữ liệu. Vui lòng thử lại.";
-    int messageType = saved ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.ERROR_MESSAGE;
-    JOptionPane.showMessageDialog(this, message, saved ? "Thông báo" : "Lỗi", messageType);
+    // Ghi trên background thread, thông báo kết quả lại trên EDT
+    taskManager.saveTasksToFileAsync().whenComplete((saved, error) -> SwingUtilities.invokeLater(() -> {
+      boolean success = error == null && Boolean.TRUE.equals(saved);
+      String message = success ? "Đã lưu dữ liệu thành công" : "Không thể lưu dữ liệu. Vui lòng thử lại.";
+      int messageType = success ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.ERROR_MESSAGE;
+      JOptionPane.showMessageDialog(this, message, success ? "Thông báo" : "Lỗi", messageType);
+    }));
   }
 
   /**
@@ -1129,22 +1064,22 @@ public class MainWindow extends JFrame {
     KeyStroke ctrlS = KeyStroke.getKeyStroke(KeyEvent.VK_S, InputEvent.CTRL_DOWN_MASK);
 
     getRootPane().registerKeyboardAction(e -> {
-      System.out.println("MainWindow: Nhận phím Ctrl+S - Lưu từ UI");
+      System.out.println("MainWindow: Nhận phím Ctrl+S - Lưu dữ liệu");
 
-      // Lưu trực tiếp từ UI giống như export
-      boolean saved = taskController.saveTasksFromUI();
-
-      if (saved) {
-        JOptionPane.showMessageDialog(this,
-            "Đã lưu dữ liệu thành công vào resources/data/data.txt!",
-            "Lưu thành công",
-            JOptionPane.INFORMATION_MESSAGE);
-      } else {
-        JOptionPane.showMessageDialog(this,
-            "Không thể lưu dữ liệu!",
-            "Lỗi",
-            JOptionPane.ERROR_MESSAGE);
-      }
+      // Chỉ gửi các thay đổi đang chờ, việc ghi chạy trên background thread
+      taskController.saveTasksFromUIAsync().whenComplete((saved, error) -> SwingUtilities.invokeLater(() -> {
+        if (error == null && Boolean.TRUE.equals(saved)) {
+          JOptionPane.showMessageDialog(this,
+              "Đã lưu dữ liệu thành công vào resources/data/data.txt!",
+              "Lưu thành công",
+              JOptionPane.INFORMATION_MESSAGE);
+        } else {
+          JOptionPane.showMessageDialog(this,
+              "Không thể lưu dữ liệu!",
+              "Lỗi",
+              JOptionPane.ERROR_MESSAGE);
+        }
+      }));
     }, ctrlS, JComponent.WHEN_IN_FOCUSED_WINDOW);
   }
 }
\ No newline at end of file
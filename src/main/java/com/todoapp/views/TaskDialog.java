@@ -34,6 +34,8 @@ import javax.swing.JPanel;
 import javax.swing.JTextField;
 import javax.swing.SwingConstants;
 
+import com.todoapp.models.Priority;
+import com.todoapp.models.Status;
 import com.todoapp.utils.UserPreferences;
 
 /**
@@ -45,14 +47,14 @@ public class TaskDialog extends JDialog {
     // ==================== COMPONENTS ====================
     private JTextField taskField;
     private JTextField dateField;
-    private JComboBox<String> priorityBox;
-    private JComboBox<String> statusBox;
+    private JComboBox<Priority> priorityBox;
+    private JComboBox<Status> statusBox;
     private boolean confirmed = false;
 
     // ==================== INITIALIZATION ====================
 
     public TaskDialog(JFrame parent, String title, String taskName, String dueDate,
-            String priority, String status) {
+            Priority priority, Status status) {
         super(parent, title, true);
 
         setResizable(false);
@@ -64,7 +66,7 @@ public class TaskDialog extends JDialog {
     /**
      * Create main layout structure
      */
-    private void createMainLayout(String taskName, String dueDate, String priority, String status) {
+    private void createMainLayout(String taskName, String dueDate, Priority priority, Status status) {
         JPanel mainPanel = new JPanel(new BorderLayout());
         mainPanel.setBorder(BorderFactory.createEmptyBorder(15, 15, 10, 15));
 
@@ -81,7 +83,7 @@ public class TaskDialog extends JDialog {
     /**
      * Create form panel with input fields
      */
-    private JPanel createFormPanel(String taskName, String dueDate, String priority, String status) {
+    private JPanel createFormPanel(String taskName, String dueDate, Priority priority, Status status) {
         JPanel formPanel = new JPanel(new GridBagLayout());
         GridBagConstraints gbc = new GridBagConstraints();
         gbc.fill = GridBagConstraints.HORIZONTAL;
@@ -203,11 +205,11 @@ public class TaskDialog extends JDialog {
     /**
      * Add priority selection field
      */
-    private void addPriorityField(JPanel parent, GridBagConstraints gbc, String priority) {
+    private void addPriorityField(JPanel parent, GridBagConstraints gbc, Priority priority) {
         JLabel priorityLabel = new JLabel("Priority:");
         priorityLabel.setFont(new Font("SansSerif", Font.BOLD, 12));
 
-        priorityBox = new JComboBox<>(new String[] { "High", "Medium", "Low" });
+        priorityBox = new JComboBox<>(Priority.values());
         priorityBox.setSelectedItem(priority);
         priorityBox.setRenderer(new PriorityListCellRenderer());
 
@@ -227,11 +229,11 @@ public class TaskDialog extends JDialog {
     /**
      * Add status selection field (edit mode only)
      */
-    private void addStatusField(JPanel parent, GridBagConstraints gbc, String status) {
+    private void addStatusField(JPanel parent, GridBagConstraints gbc, Status status) {
         JLabel statusLabel = new JLabel("Status:");
         statusLabel.setFont(new Font("SansSerif", Font.BOLD, 12));
 
-        statusBox = new JComboBox<>(new String[] { "Pending", "In Progress", "Completed" });
+        statusBox = new JComboBox<>(new Status[] { Status.PENDING, Status.IN_PROGRESS, Status.COMPLETED });
         statusBox.setSelectedItem(status);
         statusBox.setRenderer(new StatusListCellRenderer());
 
@@ -560,20 +562,19 @@ public class TaskDialog extends JDialog {
             JLabel label = (JLabel) super.getListCellRendererComponent(
                     list, value, index, isSelected, cellHasFocus);
 
-            if (value != null) {
-                String priority = value.toString();
-                switch (priority) {
-                    case "High":
+            if (value instanceof Priority) {
+                switch ((Priority) value) {
+                    case HIGH:
                         if (!isSelected)
                             label.setBackground(new Color(255, 200, 200));
                         label.setIcon(new ColorIcon(10, 10, new Color(255, 80, 80)));
                         break;
-                    case "Medium":
+                    case MEDIUM:
                         if (!isSelected)
                             label.setBackground(new Color(255, 235, 200));
                         label.setIcon(new ColorIcon(10, 10, new Color(255, 180, 0)));
                         break;
-                    case "Low":
+                    case LOW:
                         if (!isSelected)
                             label.setBackground(new Color(220, 255, 220));
                         label.setIcon(new ColorIcon(10, 10, new Color(100, 180, 100)));
@@ -597,20 +598,19 @@ public class TaskDialog extends JDialog {
             JLabel label = (JLabel) super.getListCellRendererComponent(
                     list, value, index, isSelected, cellHasFocus);
 
-            if (value != null) {
-                String status = value.toString();
-                switch (status) {
-                    case "Pending":
+            if (value instanceof Status) {
+                switch ((Status) value) {
+                    case PENDING:
                         if (!isSelected)
                             label.setBackground(new Color(240, 240, 240));
                         label.setText("⌛ Pending");
                         break;
-                    case "In Progress":
+                    case IN_PROGRESS:
                         if (!isSelected)
                             label.setBackground(new Color(230, 220, 255));
                         label.setText("⏳ In Progress");
                         break;
-                    case "Completed":
+                    case COMPLETED:
                         if (!isSelected)
                             label.setBackground(new Color(200, 230, 255));
                         label.setText("✓ Completed");
@@ -683,12 +683,12 @@ public class TaskDialog extends JDialog {
         return date;
     }
 
-    public String getPriority() {
-        return (String) priorityBox.getSelectedItem();
+    public Priority getPriority() {
+        return (Priority) priorityBox.getSelectedItem();
     }
 
-    public String getStatus() {
-        return statusBox != null ? (String) statusBox.getSelectedItem() : "Pending";
+    public Status getStatus() {
+        return statusBox != null ? (Status) statusBox.getSelectedItem() : Status.DEFAULT;
     }
 
     public Date getDueDateObject() {
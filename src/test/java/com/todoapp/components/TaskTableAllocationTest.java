@@ -0,0 +1,144 @@
+package com.todoapp.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.table.TableCellRenderer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.todoapp.models.Priority;
+import com.todoapp.models.Status;
+import com.todoapp.models.Task;
+import com.todoapp.utils.OrderedLongSet;
+import com.todoapp.utils.PinnedRowSorter;
+import com.todoapp.utils.TaskManager;
+
+/**
+ * Đọc và vẽ cell không được cấp phát object nào (TaskTableModel.getValueAt, TaskCellRenderer)
+ * Đo số byte thread hiện tại đã cấp phát sau khi warm-up cho JIT biên dịch xong
+ * Surefire chạy với -XX:-DoEscapeAnalysis: khi vẽ thật, call stack sâu hơn nên JIT không chắc inline được,
+ * lambda hay PropertyChangeEvent tạo cho mỗi cell phải lộ ra ở đây thay vì bị escape analysis che mất
+ */
+class TaskTableAllocationTest {
+
+    private static final int ROWS = 2_000;
+    private static final int VISIBLE_COLUMNS = 4; // Cột id bị bỏ khỏi bảng như trong MainWindow
+    private static final int WARMUP_PASSES = 200;
+    private static final int MEASURED_PASSES = 20;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static TaskManager taskManager;
+    private static TaskTableModel tableModel;
+    private static TaskTable taskTable;
+
+    @BeforeAll
+    static void setUp() {
+        taskManager = new TaskManager();
+        taskManager.clearAllTasks();
+        tableModel = new TaskTableModel(taskManager);
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            tasks.add(new Task("Task " + i, 20_000 + i % 400,
+                    Priority.values()[i % 3], Status.values()[i % 3], i % 10 == 0));
+        }
+        tableModel.addTasks(tasks);
+
+        OrderedLongSet pinnedTaskIds = new OrderedLongSet();
+        for (Task task : tasks) {
+            if (task.isPinned()) {
+                pinnedTaskIds.add(task.getId());
+            }
+        }
+
+        // Dựng bảng giống MainWindow.createTaskListPanel
+        taskTable = new TaskTable();
+        taskTable.setModel(tableModel);
+        taskTable.removeColumn(taskTable.getColumnModel().getColumn(TaskTable.ID_COLUMN));
+        taskTable.setDefaultRenderer(Object.class, new TaskCellRenderer(false, false, null, null));
+        taskTable.getColumnModel().getColumn(0).setCellRenderer(new TaskCellRenderer(true, false, null, null));
+        taskTable.updatePinnedTasks(pinnedTaskIds);
+        taskTable.setRowSorter(new PinnedRowSorter(tableModel, taskTable, pinnedTaskIds));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        taskManager.close();
+    }
+
+    @Test
+    void getValueAtDoesNotAllocate() {
+        for (int i = 0; i < WARMUP_PASSES; i++) {
+            readCells();
+        }
+
+        long allocated = allocatedBytes();
+        for (int i = 0; i < MEASURED_PASSES; i++) {
+            readCells();
+        }
+        allocated = allocatedBytes() - allocated;
+
+        assertEquals(0, allocated / cellCount(), "Số byte cấp phát cho mỗi cell (tổng " + allocated + " bytes)");
+    }
+
+    @Test
+    void rendererDoesNotAllocate() {
+        for (int i = 0; i < WARMUP_PASSES; i++) {
+            renderCells();
+        }
+
+        long allocated = allocatedBytes();
+        for (int i = 0; i < MEASURED_PASSES; i++) {
+            renderCells();
+        }
+        allocated = allocatedBytes() - allocated;
+
+        assertEquals(0, allocated / cellCount(), "Số byte cấp phát cho mỗi cell (tổng " + allocated + " bytes)");
+    }
+
+    @Test
+    void formattedDateIsReused() {
+        Object first = tableModel.getValueAt(0, TaskTableModel.DUE_DATE_COLUMN);
+        assertSame(first, tableModel.getValueAt(0, TaskTableModel.DUE_DATE_COLUMN));
+    }
+
+    // ==================== HELPERS ====================
+
+    private static int readCells() {
+        int hash = 0;
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 0; column < VISIBLE_COLUMNS; column++) {
+                hash += System.identityHashCode(tableModel.getValueAt(row, column));
+            }
+        }
+        return hash;
+    }
+
+    private static int renderCells() {
+        int hash = 0;
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 0; column < VISIBLE_COLUMNS; column++) {
+                TableCellRenderer renderer = taskTable.getCellRenderer(row, column);
+                hash += System.identityHashCode(taskTable.prepareRenderer(renderer, row, column));
+            }
+        }
+        return hash;
+    }
+
+    private static long cellCount() {
+        return (long) MEASURED_PASSES * ROWS * VISIBLE_COLUMNS;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}